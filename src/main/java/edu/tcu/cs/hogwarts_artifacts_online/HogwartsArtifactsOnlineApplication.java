@@ -1,11 +1,14 @@
 package edu.tcu.cs.hogwarts_artifacts_online;
 
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.IdWorker;
+import edu.tcu.cs.hogwarts_artifacts_online.system.lease.WorkerIdLeaseService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class HogwartsArtifactsOnlineApplication {
 
 	public static void main(String[] args) {
@@ -13,8 +16,9 @@ public class HogwartsArtifactsOnlineApplication {
 	}
 
 	@Bean
-	public IdWorker idWorker(){
-		return new IdWorker(1,1);
+	public IdWorker idWorker(WorkerIdLeaseService workerIdLeaseService){
+		// Every instance leases its own worker/datacenter pair, so instances behind a load balancer never collide
+		return workerIdLeaseService.getIdWorker();
 	}
 
 }
@@ -3,15 +3,22 @@ package edu.tcu.cs.hogwarts_artifacts_online.artifact;
 import edu.tcu.cs.hogwarts_artifacts_online.wizard.Wizard;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 import java.io.Serializable;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_artifact_owner_id", columnList = "owner_id, id"),
+        @Index(name = "idx_artifact_owner_name", columnList = "owner_id, name, id"),
+        @Index(name = "idx_artifact_name", columnList = "name, id")
+})
 public class Artifact implements Serializable {
 
     @Id
-    private String id;
+    private Long id;
 
     private String name;
     private String description;
@@ -24,11 +31,11 @@ public class Artifact implements Serializable {
     public Artifact() {
     }
 
-    public String getId() {
+    public Long getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(Long id) {
         this.id = id;
     }
 
@@ -0,0 +1,59 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.cache.CacheConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Artifacts by id, without their owner: an entry keeps only the owner's id, and the owner itself is read from
+ * the wizards cache. Renaming a wizard or changing its artifact count therefore leaves this cache alone, only
+ * writes to an artifact row evict its entry. Keys are the parsed ids, so "123", "+123" and "0123" share one
+ * entry. Puts and evictions go through the transaction-aware cache manager and wait for the commit.
+ */
+@Component
+public class ArtifactCache {
+
+    private final Cache cache;
+
+    public ArtifactCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfiguration.ARTIFACTS);
+    }
+
+    public CachedArtifact get(Long artifactId) {
+        return this.cache.get(artifactId, CachedArtifact.class);
+    }
+
+    public void put(Artifact artifact) {
+        this.cache.put(artifact.getId(), CachedArtifact.of(artifact));
+    }
+
+    public void evict(Long artifactId) {
+        this.cache.evict(artifactId);
+    }
+
+    public void evictAll(Collection<Long> artifactIds) {
+        artifactIds.forEach(this.cache::evict);
+    }
+
+    public record CachedArtifact(Long id, String name, String description, String imageUrl, Integer ownerId) {
+
+        static CachedArtifact of(Artifact artifact) {
+            return new CachedArtifact(artifact.getId(), artifact.getName(), artifact.getDescription(), artifact.getImageUrl(),
+                    artifact.getOwner() != null ? artifact.getOwner().getId() : null);
+        }
+
+        // A detached copy without its owner, the caller attaches the owner
+        Artifact toArtifact() {
+            Artifact artifact = new Artifact();
+            artifact.setId(this.id);
+            artifact.setName(this.name);
+            artifact.setDescription(this.description);
+            artifact.setImageUrl(this.imageUrl);
+            return artifact;
+        }
+    }
+
+}
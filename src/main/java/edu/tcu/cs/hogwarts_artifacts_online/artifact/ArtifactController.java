@@ -1,49 +1,114 @@
 package edu.tcu.cs.hogwarts_artifacts_online.artifact;
 
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.batch.ArtifactBatchResult;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.batch.ArtifactBatchService;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.converter.ArtifactDtoToArtifactConverter;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.converter.ArtifactSummaryToArtifactDtoConverter;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.converter.ArtifactToArtifactDtoConverter;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.export.ArtifactExportFormat;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.export.ArtifactExporter;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.search.ArtifactSearchService;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.search.SearchPage;
+import edu.tcu.cs.hogwarts_artifacts_online.suggest.SuggestionIndex;
+import edu.tcu.cs.hogwarts_artifacts_online.system.CursorPage;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
 import edu.tcu.cs.hogwarts_artifacts_online.system.Result;
 import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("${api.endpoint.base-url}/artifacts")
 public class ArtifactController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final ArtifactService artifactService;
 
     private final ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter;
 
     private final ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter;
 
-    public ArtifactController(ArtifactService artifactService, ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter, ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter) {
+    private final ArtifactSummaryToArtifactDtoConverter artifactSummaryToArtifactDtoConverter;
+
+    private final ArtifactExporter artifactExporter;
+
+    private final ArtifactBatchService artifactBatchService;
+
+    private final ArtifactSearchService artifactSearchService;
+
+    private final SuggestionIndex suggestionIndex;
+
+    public ArtifactController(ArtifactService artifactService, ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter, ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter, ArtifactSummaryToArtifactDtoConverter artifactSummaryToArtifactDtoConverter, ArtifactExporter artifactExporter, ArtifactBatchService artifactBatchService, ArtifactSearchService artifactSearchService, SuggestionIndex suggestionIndex) {
         this.artifactService = artifactService;
         this.artifactToArtifactDtoConverter = artifactToArtifactDtoConverter;
         this.artifactDtoToArtifactConverter = artifactDtoToArtifactConverter;
+        this.artifactSummaryToArtifactDtoConverter = artifactSummaryToArtifactDtoConverter;
+        this.artifactExporter = artifactExporter;
+        this.artifactBatchService = artifactBatchService;
+        this.artifactSearchService = artifactSearchService;
+        this.suggestionIndex = suggestionIndex;
     }
 
     @GetMapping("/{artifactId}")
     public Result findArtifactById(@PathVariable String artifactId){
         Artifact foundArtifact = this.artifactService.findById(artifactId);
+        // Counted here rather than in the service, whose cache would hide repeated views
+        this.suggestionIndex.recordArtifactView(foundArtifact.getId());
         ArtifactDto artifactDto = this.artifactToArtifactDtoConverter.convert(foundArtifact);
         return new Result(true, StatusCode.SUCCESS, "Find One Success", artifactDto);
     }
 
     @GetMapping
-    public Result findAllArtifacts(){
-        List<Artifact> foundArtifacts = this.artifactService.findAll();
-        // Convert foundArtifacts to a list of artifactDtos
-        List<ArtifactDto> artifactDtos = foundArtifacts.stream()
-                .map(this.artifactToArtifactDtoConverter::convert)
-                .collect(Collectors.toList());
+    public Result findAllArtifacts(@RequestParam(required = false) Integer limit, @RequestParam(required = false) String after,
+                                   @RequestParam(required = false) Integer ownerId, @RequestParam(defaultValue = "false") boolean unowned,
+                                   @RequestParam(required = false) String namePrefix, @RequestParam(required = false) String sort){
+        ArtifactFilter filter = new ArtifactFilter(ownerId, unowned, namePrefix, sort != null ? ArtifactSort.from(sort) : null);
+        if(limit != null || after != null || !filter.isUnfiltered()){
+            // Cursor-paginated mode, filtered listings are always paginated
+            CursorPage<ArtifactSummary> foundPage = this.artifactService.findAll(filter, after, limit != null ? limit : DEFAULT_PAGE_SIZE);
+            List<ArtifactDto> artifactDtos = this.artifactSummaryToArtifactDtoConverter.convertAll(foundPage.content());
+            return new Result(true, StatusCode.SUCCESS, "Find All Success", new CursorPage<>(artifactDtos, foundPage.nextCursor()));
+        }
+        List<ArtifactSummary> foundArtifacts = this.artifactService.findAll();
+        // Convert foundArtifacts to a list of artifactDtos, each owner is converted only once
+        List<ArtifactDto> artifactDtos = this.artifactSummaryToArtifactDtoConverter.convertAll(foundArtifacts);
         return new Result(true, StatusCode.SUCCESS, "Find All Success", artifactDtos);
     }
 
+    // Takes precedence over findAllArtifacts whenever ids is present
+    @GetMapping(params = "ids")
+    public Result findArtifactsByIds(@RequestParam List<String> ids){
+        MultiGet<ArtifactSummary> foundArtifacts = this.artifactService.findAllByIds(ids);
+        List<ArtifactDto> artifactDtos = this.artifactSummaryToArtifactDtoConverter.convertAll(foundArtifacts.content());
+        return new Result(true, StatusCode.SUCCESS, "Find Many Success", new MultiGet<>(artifactDtos, foundArtifacts.missingIds()));
+    }
+
+    @GetMapping("/search")
+    public Result searchArtifacts(@RequestParam String q, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size, @RequestParam(defaultValue = "false") boolean fuzzy){
+        SearchPage<ArtifactSummary> foundPage = this.artifactSearchService.search(q, page, size, fuzzy);
+        List<ArtifactDto> artifactDtos = this.artifactSummaryToArtifactDtoConverter.convertAll(foundPage.content());
+        return new Result(true, StatusCode.SUCCESS, "Search Success", new SearchPage<>(artifactDtos, foundPage.page(), foundPage.size(), foundPage.totalHits(), foundPage.totalHitsExact()));
+    }
+
+    @GetMapping("/export")
+    public void exportArtifacts(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ArtifactExportFormat exportFormat = ArtifactExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"artifacts." + exportFormat.getFileExtension() + "\"");
+        // Rows are written straight to the response as they are read from the database
+        this.artifactExporter.export(exportFormat, response.getOutputStream());
+    }
+
     @PostMapping
     public Result addArtifact(@Valid @RequestBody ArtifactDto artifactDto){
         // Convert artifactDto to artifact
@@ -53,6 +118,13 @@ public class ArtifactController {
         return new Result(true, StatusCode.SUCCESS, "Add Success", savedArtifactDto);
     }
 
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Result addArtifacts(HttpServletRequest request) throws IOException {
+        // The body is parsed incrementally by the batch service instead of being bound with @RequestBody
+        ArtifactBatchResult batchResult = this.artifactBatchService.importArtifacts(request.getInputStream());
+        return new Result(true, StatusCode.SUCCESS, "Batch Add Success", batchResult);
+    }
+
     @PutMapping("/{artifactId}")
     public Result updateArtifact(@PathVariable String artifactId, @Valid @RequestBody ArtifactDto artifactDto){
         Artifact update = this.artifactDtoToArtifactConverter.convert(artifactDto);
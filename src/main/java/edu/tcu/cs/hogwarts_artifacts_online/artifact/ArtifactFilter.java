@@ -0,0 +1,24 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+/**
+ * Optional predicates of an artifact listing, each one becomes a SQL predicate backed by an index.
+ * A null ownerId, a false unowned and a null namePrefix leave the listing unfiltered. The name prefix is
+ * case-sensitive.
+ */
+public record ArtifactFilter(Integer ownerId, boolean unowned, String namePrefix, ArtifactSort sort) {
+
+    public static final ArtifactFilter NONE = new ArtifactFilter(null, false, null, ArtifactSort.ID);
+
+    public ArtifactFilter {
+        if (namePrefix != null && namePrefix.isEmpty()) {
+            namePrefix = null;
+        }
+        if (sort == null) {
+            sort = ArtifactSort.ID;
+        }
+    }
+
+    public boolean isUnfiltered() {
+        return this.ownerId == null && !this.unowned && this.namePrefix == null && this.sort == ArtifactSort.ID;
+    }
+}
@@ -0,0 +1,20 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * Artifact listings whose where clause depends on the filter, built per call so that every predicate
+ * that is not requested is left out of the SQL instead of being disabled with "or :param is null".
+ */
+public interface ArtifactFilterRepository {
+
+    /**
+     * One keyset-paginated window of the artifacts matching the filter, in the filter's sort order.
+     * A page starts after (afterName, afterId) when afterId is not null, afterName is only read when
+     * sorting by name.
+     */
+    List<ArtifactSummary> findSummaries(ArtifactFilter filter, String afterName, Long afterId, Limit limit);
+
+}
@@ -0,0 +1,82 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every filter maps onto a leading column of an artifact index: owner_id onto (owner_id, id) and
+ * (owner_id, name, id), the name prefix onto (name, id) or the second column of (owner_id, name, id).
+ * The prefix is written as a range rather than a LIKE, so it stays an index range with a bound parameter.
+ */
+class ArtifactFilterRepositoryImpl implements ArtifactFilterRepository {
+
+    private final EntityManager entityManager;
+
+    ArtifactFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ArtifactSummary> findSummaries(ArtifactFilter filter, String afterName, Long afterId, Limit limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (filter.ownerId() != null) {
+            predicates.add("a.owner.id = :ownerId");
+            parameters.put("ownerId", filter.ownerId());
+        }
+        if (filter.unowned()) {
+            predicates.add("a.owner.id is null");
+        }
+        if (filter.namePrefix() != null) {
+            predicates.add("a.name >= :prefix");
+            parameters.put("prefix", filter.namePrefix());
+            String upperBound = prefixUpperBound(filter.namePrefix());
+            if (upperBound != null) {
+                predicates.add("a.name < :prefixUpperBound");
+                parameters.put("prefixUpperBound", upperBound);
+            }
+        }
+        if (afterId != null) {
+            if (filter.sort() == ArtifactSort.NAME) {
+                predicates.add("(a.name > :afterName or (a.name = :afterName and a.id > :afterId))");
+                parameters.put("afterName", afterName);
+            } else {
+                predicates.add("a.id > :afterId");
+            }
+            parameters.put("afterId", afterId);
+        }
+        StringBuilder jpql = new StringBuilder(ArtifactRepository.SUMMARY_SELECT);
+        if (!predicates.isEmpty()) {
+            jpql.append("where ").append(String.join(" and ", predicates)).append(' ');
+        }
+        jpql.append(filter.sort() == ArtifactSort.NAME ? "order by a.name, a.id" : "order by a.id");
+
+        TypedQuery<ArtifactSummary> query = this.entityManager.createQuery(jpql.toString(), ArtifactSummary.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * The smallest string above every string that starts with the prefix, null if there is none.
+     */
+    static String prefixUpperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return null;
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+
+}
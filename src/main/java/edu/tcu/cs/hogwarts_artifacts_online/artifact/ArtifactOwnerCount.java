@@ -0,0 +1,8 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+/**
+ * How many artifacts of a given set belong to one owner, used to adjust owners' artifact counts after a bulk move.
+ */
+public record ArtifactOwnerCount(Integer ownerId,
+                                 Long count) {
+}
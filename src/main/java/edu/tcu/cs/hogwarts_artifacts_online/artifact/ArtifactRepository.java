@@ -1,6 +1,103 @@
 package edu.tcu.cs.hogwarts_artifacts_online.artifact;
 
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.Wizard;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ArtifactRepository extends JpaRepository<Artifact, Long>, ArtifactFilterRepository {
+
+    String SUMMARY_SELECT = "select new edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSummary("
+            + "a.id, a.name, a.description, a.imageUrl, o.id, o.name, "
+            + "o.artifactCount) "
+            + "from Artifact a left join Wizard o on o.id = a.owner.id "; // An entity join, so a.owner.id in a where clause stays on artifact.owner_id
+
+    @Query(SUMMARY_SELECT + "order by a.id")
+    List<ArtifactSummary> findAllSummaries();
+
+    // One wizard's artifacts, keyset-paginated through the (owner_id, id) and (owner_id, name, id) indexes
+
+    @Query(SUMMARY_SELECT + "where a.owner.id = :ownerId order by a.id")
+    List<ArtifactSummary> findSummariesByOwner(Integer ownerId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where a.owner.id = :ownerId and a.id > :id order by a.id")
+    List<ArtifactSummary> findSummariesByOwnerAfter(Integer ownerId, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where a.owner.id = :ownerId order by a.name, a.id")
+    List<ArtifactSummary> findSummariesByOwnerOrderByName(Integer ownerId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where a.owner.id = :ownerId and (a.name > :name or (a.name = :name and a.id > :id)) order by a.name, a.id")
+    List<ArtifactSummary> findSummariesByOwnerAfterName(Integer ownerId, String name, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where a.id in :ids")
+    List<ArtifactSummary> findSummariesByIds(Collection<Long> ids);
+
+    // Name and description only, read in id order to rebuild the search index
+
+    @Query("select new edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactText(a.id, a.name, a.description) from Artifact a order by a.id")
+    List<ArtifactText> findTexts(Limit limit);
+
+    @Query("select new edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactText(a.id, a.name, a.description) from Artifact a where a.id > :id order by a.id")
+    List<ArtifactText> findTextsAfter(Long id, Limit limit);
+
+    /**
+     * Streams every artifact with its owner, reading rows from the JDBC cursor in chunks of the fetch size.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("select a from Artifact a left join fetch a.owner")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Artifact> streamAll();
+
+    /**
+     * Deletes in one statement, without loading the artifact first.
+     * Returns the number of deleted rows, 0 if there is no artifact with this id.
+     */
+    @Modifying
+    @Query("delete from Artifact a where a.id = :id")
+    int deleteArtifactById(Long id);
+
+    /**
+     * Unassigns every artifact of a wizard in one statement, without loading the wizard's artifacts.
+     */
+    @Modifying
+    @Query("update Artifact a set a.owner = null where a.owner.id = :ownerId")
+    int clearOwner(Integer ownerId);
+
+    @Modifying
+    @Query("update Artifact a set a.owner = :owner where a.id in :ids")
+    int assignOwner(Collection<Long> ids, Wizard owner);
+
+    @Modifying
+    @Query("update Artifact a set a.owner = :to where a.owner.id = :fromId")
+    int transferOwner(Integer fromId, Wizard to);
+
+    /**
+     * Returns the ids that exist and locks their rows until the transaction ends, in id order so two
+     * overlapping assignments cannot deadlock. Owners read afterwards cannot change under the caller.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id from Artifact a where a.id in :ids order by a.id")
+    List<Long> lockExistingIds(Collection<Long> ids);
+
+    @Query("select new edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactOwnerCount(a.owner.id, count(a)) "
+            + "from Artifact a where a.id in :ids and a.owner is not null group by a.owner.id")
+    List<ArtifactOwnerCount> countByOwner(Collection<Long> ids);
+
+    @Query("select a.id from Artifact a where a.owner.id = :ownerId")
+    List<Long> findIdsByOwner(Integer ownerId);
+
+    @Query("select a.owner.id from Artifact a where a.id = :id and a.owner is not null")
+    Optional<Integer> findOwnerId(Long id);
 
-public interface ArtifactRepository extends JpaRepository<Artifact, String> {
 }
@@ -1,54 +1,173 @@
 package edu.tcu.cs.hogwarts_artifacts_online.artifact;
 
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.search.ArtifactSearchIndex;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.ArtifactIds;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.IdWorker;
+import edu.tcu.cs.hogwarts_artifacts_online.suggest.SuggestionIndex;
+import edu.tcu.cs.hogwarts_artifacts_online.system.CursorPage;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
+import edu.tcu.cs.hogwarts_artifacts_online.system.cache.CacheConfiguration;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
 import edu.tcu.cs.hogwarts_artifacts_online.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardService;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboard;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
 public class ArtifactService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final char NAME_CURSOR_SEPARATOR = '\u0000';
+
     private final ArtifactRepository artifactRepository;
 
+    private final WizardRepository wizardRepository;
+
+    private final WizardLeaderboard wizardLeaderboard;
+
+    private final ArtifactSearchIndex artifactSearchIndex;
+
+    private final SuggestionIndex suggestionIndex;
+
     private final IdWorker idWorker;
 
-    public ArtifactService(ArtifactRepository artifactRepository, IdWorker idWorker) {
+    private final ArtifactCache artifactCache;
+
+    private final WizardService wizardService;
+
+    public ArtifactService(ArtifactRepository artifactRepository, WizardRepository wizardRepository, WizardLeaderboard wizardLeaderboard, ArtifactSearchIndex artifactSearchIndex, SuggestionIndex suggestionIndex, IdWorker idWorker, ArtifactCache artifactCache, WizardService wizardService) {
         this.artifactRepository = artifactRepository;
+        this.wizardRepository = wizardRepository;
+        this.wizardLeaderboard = wizardLeaderboard;
+        this.artifactSearchIndex = artifactSearchIndex;
+        this.suggestionIndex = suggestionIndex;
         this.idWorker = idWorker;
+        this.artifactCache = artifactCache;
+        this.wizardService = wizardService;
     }
 
+    /**
+     * Served from the artifacts cache, which holds the artifact without its owner, and the wizards cache,
+     * which holds the owner with its current artifact count.
+     */
     public Artifact findById(String artifactId){
-        return this.artifactRepository.findById(artifactId)
-                .orElseThrow(()->new ObjectNotFoundException("artifact", artifactId));
+        Long key = toKey(artifactId);
+        ArtifactCache.CachedArtifact cached = this.artifactCache.get(key);
+        if(cached == null){
+            Artifact foundArtifact = this.artifactRepository.findById(key)
+                    .orElseThrow(()->new ObjectNotFoundException("artifact", artifactId));
+            this.artifactCache.put(foundArtifact);
+            return foundArtifact;
+        }
+        Artifact artifact = cached.toArtifact();
+        if(cached.ownerId() != null){
+            artifact.setOwner(this.wizardService.findById(cached.ownerId()));
+        }
+        return artifact;
     }
 
-    public List<Artifact> findAll(){
-        return this.artifactRepository.findAll();
+    public List<ArtifactSummary> findAll(){
+        return this.artifactRepository.findAllSummaries();
+    }
+
+    /**
+     * Keyset pagination: seeks past the last row of the previous page instead of using OFFSET,
+     * so every page costs the same no matter how deep the client has paged. The filter's predicates
+     * and the seek are both resolved in the database, through the artifact indexes.
+     */
+    public CursorPage<ArtifactSummary> findAll(ArtifactFilter filter, String after, int limit){
+        if(limit < 1 || limit > MAX_PAGE_SIZE){
+            throw new InvalidArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if(filter.ownerId() != null && filter.unowned()){
+            throw new InvalidArgumentException("ownerId and unowned cannot be combined.");
+        }
+        Limit window = Limit.of(limit + 1); // One extra row tells us whether there is a next page
+        if(filter.sort() == ArtifactSort.ID){
+            List<ArtifactSummary> artifacts = this.artifactRepository.findSummaries(filter, null, after == null ? null : decodeCursor(after), window);
+            return CursorPage.of(artifacts, limit, artifact -> ArtifactIds.toString(artifact.id()));
+        }
+        String afterName = null;
+        Long afterId = null;
+        if(after != null){
+            // The cursor holds the last row's name and id separated by NAME_CURSOR_SEPARATOR
+            String key = CursorPage.decode(after);
+            int separator = key.lastIndexOf(NAME_CURSOR_SEPARATOR);
+            afterId = separator < 0 ? null : ArtifactIds.tryParse(key.substring(separator + 1)).orElse(null);
+            if(afterId == null){
+                throw new InvalidArgumentException("cursor " + after + " is malformed.");
+            }
+            afterName = key.substring(0, separator);
+        }
+        List<ArtifactSummary> artifacts = this.artifactRepository.findSummaries(filter, afterName, afterId, window);
+        return CursorPage.of(artifacts, limit, artifact -> artifact.name() + NAME_CURSOR_SEPARATOR + ArtifactIds.toString(artifact.id()));
+    }
+
+    /**
+     * Many artifacts in request order, read as projections with one IN query per chunk of ids.
+     */
+    public MultiGet<ArtifactSummary> findAllByIds(List<String> artifactIds){
+        return MultiGet.fetch(artifactIds, ArtifactIds::tryParse, this.artifactRepository::findSummariesByIds, ArtifactSummary::id);
     }
 
     public Artifact save(Artifact newArtifact){
-        newArtifact.setId(idWorker.nextId()+"");
-        return this.artifactRepository.save(newArtifact);
+        newArtifact.setId(idWorker.nextId());
+        Artifact savedArtifact = this.artifactRepository.save(newArtifact);
+        this.artifactSearchIndex.put(savedArtifact.getId(), savedArtifact.getName(), savedArtifact.getDescription());
+        this.suggestionIndex.putArtifact(savedArtifact.getId(), savedArtifact.getName());
+        return savedArtifact;
     }
 
     public Artifact update(String artifactId, Artifact update){
-        return this.artifactRepository.findById(artifactId)
+        Long key = toKey(artifactId);
+        this.artifactCache.evict(key);
+        return this.artifactRepository.findById(key)
                 .map(oldArtifact ->{
                     oldArtifact.setName(update.getName());
                     oldArtifact.setDescription(update.getDescription());
                     oldArtifact.setImageUrl(update.getImageUrl());
-                    return this.artifactRepository.save(oldArtifact);
+                    Artifact updatedArtifact = this.artifactRepository.save(oldArtifact);
+                    this.artifactSearchIndex.put(updatedArtifact.getId(), updatedArtifact.getName(), updatedArtifact.getDescription());
+                    this.suggestionIndex.putArtifact(updatedArtifact.getId(), updatedArtifact.getName());
+                    return updatedArtifact;
                 })
                 .orElseThrow(()->new ObjectNotFoundException("artifact", artifactId));
 
     }
 
+    // The owner's artifact count changes
+    @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, allEntries = true)
     public void delete(String artifactId){
-        this.artifactRepository.findById(artifactId)
-                .orElseThrow(()-> new ObjectNotFoundException("artifact",artifactId));
-        this.artifactRepository.deleteById(artifactId);
+        Long key = toKey(artifactId);
+        this.artifactCache.evict(key);
+        Optional<Integer> ownerId = this.artifactRepository.findOwnerId(key);
+        if(this.artifactRepository.deleteArtifactById(key) == 0){
+            throw new ObjectNotFoundException("artifact", artifactId);
+        }
+        this.artifactSearchIndex.remove(key);
+        this.suggestionIndex.removeArtifact(key);
+        ownerId.ifPresent(id -> {
+            this.wizardRepository.adjustArtifactCount(id, -1);
+            this.wizardLeaderboard.adjust(id, -1);
+        });
+    }
+
+    private static Long toKey(String artifactId){
+        return ArtifactIds.tryParse(artifactId)
+                .orElseThrow(()-> new ObjectNotFoundException("artifact", artifactId));
+    }
+
+    private static Long decodeCursor(String after){
+        return ArtifactIds.tryParse(CursorPage.decode(after))
+                .orElseThrow(()-> new InvalidArgumentException("cursor " + after + " is malformed."));
     }
 }
@@ -0,0 +1,29 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+
+/**
+ * Orders supported by keyset-paginated artifact listings. Every order ends with the id, so it is total
+ * and a page boundary can always be described by the last row's key.
+ */
+public enum ArtifactSort {
+
+    ID("id"),
+
+    NAME("name");
+
+    private final String parameter;
+
+    ArtifactSort(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public static ArtifactSort from(String sort) {
+        for (ArtifactSort artifactSort : values()) {
+            if (artifactSort.parameter.equalsIgnoreCase(sort)) {
+                return artifactSort;
+            }
+        }
+        throw new InvalidArgumentException("sort " + sort + " is not supported, use id or name.");
+    }
+}
@@ -0,0 +1,14 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+/**
+ * Read-only projection of an artifact row together with its owner's id, name and artifact count.
+ * It is filled by a single query, so listing artifacts never touches the owner's artifacts collection.
+ */
+public record ArtifactSummary(Long id,
+                              String name,
+                              String description,
+                              String imageUrl,
+                              Integer ownerId,
+                              String ownerName,
+                              Integer ownerNumberOfArtifacts) {
+}
@@ -0,0 +1,7 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+/**
+ * The searchable text of an artifact, read in pages to rebuild the search index.
+ */
+public record ArtifactText(Long id, String name, String description) {
+}
@@ -0,0 +1,10 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.batch;
+
+import java.util.Map;
+
+/**
+ * An item that was not imported, identified by its position in the uploaded array.
+ */
+public record ArtifactBatchFailure(int index,
+                                   Map<String, String> errors) {
+}
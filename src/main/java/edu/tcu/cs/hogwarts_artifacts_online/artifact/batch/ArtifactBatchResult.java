@@ -0,0 +1,20 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.batch;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Imported items are only counted, so the result stays small however large the
+ * upload is. failures holds the first MAX_REPORTED_FAILURES failed items by index, failuresTruncated tells
+ * whether more failed. complete is false when parsing stopped on malformed JSON: the items before that point
+ * are reported (and imported if they were valid), the items after notAttemptedAfter were not read at all.
+ */
+public record ArtifactBatchResult(int received,
+                                  int imported,
+                                  int failed,
+                                  boolean complete,
+                                  Integer notAttemptedAfter,
+                                  List<ArtifactBatchFailure> failures,
+                                  boolean failuresTruncated) {
+
+    public static final int MAX_REPORTED_FAILURES = 100;
+}
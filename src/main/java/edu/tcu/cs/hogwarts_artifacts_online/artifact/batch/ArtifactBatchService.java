@@ -0,0 +1,194 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.batch;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.search.ArtifactSearchIndex;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.IdWorker;
+import edu.tcu.cs.hogwarts_artifacts_online.suggest.SuggestionIndex;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Imports a JSON array of artifacts without binding the whole array: items are parsed one at a time,
+ * validated, and inserted with JDBC batches. Every commit-interval items are committed in their own
+ * transaction, so a failing interval does not roll back the ones before it.
+ */
+@Service
+public class ArtifactBatchService {
+
+    private static final Comparator<ArtifactBatchFailure> BY_INDEX = Comparator.comparingInt(ArtifactBatchFailure::index);
+
+    private static final String INSERT_SQL = "insert into artifact (id, name, description, image_url) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final IdWorker idWorker;
+
+    private final ArtifactSearchIndex artifactSearchIndex;
+
+    private final SuggestionIndex suggestionIndex;
+
+    private final int chunkSize;
+
+    private final int commitInterval;
+
+    public ArtifactBatchService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                IdWorker idWorker,
+                                ArtifactSearchIndex artifactSearchIndex,
+                                SuggestionIndex suggestionIndex,
+                                @Value("${artifact.batch.chunk-size}") int chunkSize,
+                                @Value("${artifact.batch.commit-interval}") int commitInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.idWorker = idWorker;
+        this.artifactSearchIndex = artifactSearchIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.chunkSize = chunkSize;
+        this.commitInterval = commitInterval;
+    }
+
+    public ArtifactBatchResult importArtifacts(InputStream inputStream) throws IOException {
+        Outcome outcome = new Outcome();
+        List<PendingArtifact> pending = new ArrayList<>(this.commitInterval);
+        Integer notAttemptedAfter = null;
+        int index = 0;
+
+        try (JsonParser parser = this.objectMapper.createParser(inputStream)) {
+            if (!startsArray(parser)) {
+                throw new InvalidArgumentException("request body must be a JSON array of artifacts.");
+            }
+            while (true) {
+                ArtifactDto artifactDto;
+                try {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    artifactDto = parser.readValueAs(ArtifactDto.class);
+                } catch (JsonProcessingException ex) {
+                    // Malformed or truncated input, inside an item or between two. The parser cannot
+                    // resynchronize, so stop reading here and still insert the valid items read so far.
+                    outcome.fail(index, Map.of("json", ex.getOriginalMessage() + ", the items after this one were not attempted."));
+                    notAttemptedAfter = index;
+                    break;
+                }
+
+                Set<ConstraintViolation<ArtifactDto>> violations = this.validator.validate(artifactDto);
+                if (violations.isEmpty()) {
+                    pending.add(new PendingArtifact(index, artifactDto));
+                } else {
+                    Map<String, String> errors = new HashMap<>(violations.size());
+                    violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                    outcome.fail(index, errors);
+                }
+
+                if (pending.size() == this.commitInterval) {
+                    insert(pending, outcome);
+                    pending.clear();
+                }
+                index++;
+            }
+        }
+        insert(pending, outcome);
+
+        List<ArtifactBatchFailure> failures = new ArrayList<>(outcome.firstFailures);
+        failures.sort(BY_INDEX);
+        return new ArtifactBatchResult(outcome.imported + outcome.failed, outcome.imported, outcome.failed,
+                notAttemptedAfter == null, notAttemptedAfter, failures, outcome.failed > failures.size());
+    }
+
+    private static boolean startsArray(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken() == JsonToken.START_ARRAY;
+        } catch (JsonProcessingException ex) {
+            return false; // Not JSON at all
+        }
+    }
+
+    private void insert(List<PendingArtifact> pending, Outcome outcome) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long[] ids = this.idWorker.nextIds(pending.size()); // One id block per commit interval
+        List<ArtifactRow> rows = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            rows.add(new ArtifactRow(pending.get(i).index(), ids[i], pending.get(i).artifactDto()));
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status ->
+                    this.jdbcTemplate.batchUpdate(INSERT_SQL, rows, this.chunkSize, (ps, row) -> {
+                        ps.setLong(1, row.id());
+                        ps.setString(2, row.artifactDto().name());
+                        ps.setString(3, row.artifactDto().description());
+                        ps.setString(4, row.artifactDto().imageUrl());
+                    }));
+        } catch (DataAccessException ex) {
+            Map<String, String> errors = Map.of("database", ex.getMostSpecificCause().getMessage());
+            rows.forEach(row -> outcome.fail(row.index(), errors));
+            return;
+        }
+        rows.forEach(row -> {
+            this.artifactSearchIndex.put(row.id(), row.artifactDto().name(), row.artifactDto().description());
+            this.suggestionIndex.putArtifact(row.id(), row.artifactDto().name());
+        });
+        outcome.imported += rows.size();
+    }
+
+    /**
+     * Counts of one import, plus the failures with the lowest indexes. Failures arrive out of order (an
+     * interval's database failure comes after later validation failures), so they are kept in a max-heap
+     * bounded to MAX_REPORTED_FAILURES.
+     */
+    private static final class Outcome {
+
+        private final PriorityQueue<ArtifactBatchFailure> firstFailures = new PriorityQueue<>(BY_INDEX.reversed());
+
+        private int imported;
+
+        private int failed;
+
+        void fail(int index, Map<String, String> errors) {
+            this.failed++;
+            this.firstFailures.add(new ArtifactBatchFailure(index, errors));
+            if (this.firstFailures.size() > ArtifactBatchResult.MAX_REPORTED_FAILURES) {
+                this.firstFailures.poll();
+            }
+        }
+    }
+
+    private record PendingArtifact(int index, ArtifactDto artifactDto) {
+    }
+
+    private record ArtifactRow(int index, long id, ArtifactDto artifactDto) {
+    }
+}
@@ -2,6 +2,7 @@ package edu.tcu.cs.hogwarts_artifacts_online.artifact.converter;
 
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.ArtifactIds;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
@@ -11,7 +12,7 @@ public class ArtifactDtoToArtifactConverter implements Converter<ArtifactDto, Ar
     @Override
     public Artifact convert(ArtifactDto source) {
         Artifact artifact = new Artifact();
-        artifact.setId(source.id());
+        artifact.setId(ArtifactIds.tryParse(source.id()).orElse(null));
         artifact.setName(source.name());
         artifact.setDescription(source.description());
         artifact.setImageUrl(source.imageUrl());
@@ -0,0 +1,44 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.converter;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSummary;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.ArtifactIds;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.dto.WizardDto;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ArtifactSummaryToArtifactDtoConverter implements Converter<ArtifactSummary, ArtifactDto> {
+
+    @Override
+    public ArtifactDto convert(ArtifactSummary source) {
+        return toArtifactDto(source, new HashMap<>(1));
+    }
+
+    /**
+     * Converts a whole listing, building each distinct owner's WizardDto only once.
+     */
+    public List<ArtifactDto> convertAll(List<ArtifactSummary> sources) {
+        Map<Integer, WizardDto> owners = new HashMap<>();
+        return sources.stream()
+                .map(source -> toArtifactDto(source, owners))
+                .toList();
+    }
+
+    private ArtifactDto toArtifactDto(ArtifactSummary source, Map<Integer, WizardDto> owners) {
+        WizardDto owner = source.ownerId() != null
+                ? owners.computeIfAbsent(source.ownerId(), ownerId -> new WizardDto(ownerId,
+                                                                                    source.ownerName(),
+                                                                                    source.ownerNumberOfArtifacts()))
+                : null;
+        return new ArtifactDto(ArtifactIds.toString(source.id()),
+                                source.name(),
+                                source.description(),
+                                source.imageUrl(),
+                                owner);
+    }
+}
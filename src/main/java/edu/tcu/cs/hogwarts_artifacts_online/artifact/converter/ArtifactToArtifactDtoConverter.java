@@ -2,6 +2,7 @@ package edu.tcu.cs.hogwarts_artifacts_online.artifact.converter;
 
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.ArtifactIds;
 import edu.tcu.cs.hogwarts_artifacts_online.wizard.converter.WizardToWizardDtoConverter;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
@@ -17,7 +18,7 @@ public class ArtifactToArtifactDtoConverter implements Converter<Artifact, Artif
 
     @Override
     public ArtifactDto convert(Artifact source) {
-        ArtifactDto artifactDto = new ArtifactDto(source.getId(),
+        ArtifactDto artifactDto = new ArtifactDto(ArtifactIds.toString(source.getId()),
                                                 source.getName(),
                                                 source.getDescription(),
                                                 source.getImageUrl(),
@@ -0,0 +1,36 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.export;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+
+public enum ArtifactExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+
+    private final String fileExtension;
+
+    ArtifactExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ArtifactExportFormat from(String format) {
+        for (ArtifactExportFormat exportFormat : values()) {
+            if (exportFormat.fileExtension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new InvalidArgumentException("format " + format + " is not supported, use ndjson or csv.");
+    }
+}
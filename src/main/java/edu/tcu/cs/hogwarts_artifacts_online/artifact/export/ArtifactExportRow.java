@@ -0,0 +1,24 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.export;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.ArtifactIds;
+
+/**
+ * Flat shape of one exported artifact, the owner is reduced to its id and name.
+ */
+public record ArtifactExportRow(String id,
+                                String name,
+                                String description,
+                                String imageUrl,
+                                Integer ownerId,
+                                String ownerName) {
+
+    static ArtifactExportRow from(Artifact artifact) {
+        return new ArtifactExportRow(ArtifactIds.toString(artifact.getId()),
+                                    artifact.getName(),
+                                    artifact.getDescription(),
+                                    artifact.getImageUrl(),
+                                    artifact.getOwner() != null ? artifact.getOwner().getId() : null,
+                                    artifact.getOwner() != null ? artifact.getOwner().getName() : null);
+    }
+}
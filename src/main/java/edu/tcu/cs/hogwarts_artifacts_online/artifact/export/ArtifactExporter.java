@@ -0,0 +1,96 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole artifact catalog to an output stream row by row, so the heap use does not grow
+ * with the size of the table.
+ */
+@Component
+@Transactional
+public class ArtifactExporter {
+
+    private static final String CSV_HEADER = "id,name,description,imageUrl,ownerId,ownerName";
+
+    private final ArtifactRepository artifactRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public ArtifactExporter(ArtifactRepository artifactRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.artifactRepository = artifactRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(ArtifactExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<Artifact> artifacts = this.artifactRepository.streamAll()) {
+            if (format == ArtifactExportFormat.CSV) {
+                writeCsv(artifacts.iterator(), writer);
+            } else {
+                writeNdjson(artifacts.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<Artifact> artifacts, Writer writer) throws IOException {
+        while (artifacts.hasNext()) {
+            writer.write(this.objectMapper.writeValueAsString(toRow(artifacts.next())));
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsv(Iterator<Artifact> artifacts, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (artifacts.hasNext()) {
+            ArtifactExportRow row = toRow(artifacts.next());
+            writer.write(csvField(row.id()));
+            writer.write(',');
+            writer.write(csvField(row.name()));
+            writer.write(',');
+            writer.write(csvField(row.description()));
+            writer.write(',');
+            writer.write(csvField(row.imageUrl()));
+            writer.write(',');
+            writer.write(row.ownerId() != null ? row.ownerId().toString() : "");
+            writer.write(',');
+            writer.write(csvField(row.ownerName()));
+            writer.write('\n');
+        }
+    }
+
+    private ArtifactExportRow toRow(Artifact artifact) {
+        ArtifactExportRow row = ArtifactExportRow.from(artifact);
+        // Drop the written artifact from the persistence context, otherwise it keeps every row of the table
+        this.entityManager.detach(artifact);
+        return row;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,161 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactText;
+import edu.tcu.cs.hogwarts_artifacts_online.system.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Full-text index over artifact names and descriptions, with a trigram index over the names for fuzzy lookup,
+ * kept in memory and updated incrementally by the write paths in ArtifactService and ArtifactBatchService.
+ * Every update is applied after its transaction commits. Queries share a read lock, updates take the write
+ * lock for the few microseconds they need.
+ */
+@Component
+public class ArtifactSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactSearchIndex.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ArtifactRepository artifactRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Indexes indexes = new Indexes();
+
+    // Updates applied while load() runs, replayed onto the rebuilt indexes before they replace the current ones
+    private List<Consumer<Indexes>> pendingUpdates;
+
+    public ArtifactSearchIndex(ArtifactRepository artifactRepository) {
+        this.artifactRepository = artifactRepository;
+    }
+
+    /**
+     * Rebuilds the index from the artifact table once the data initializers have run. Pages are read by id
+     * while the previous page is tokenized in parallel, the current index keeps serving until the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        write(indexes -> this.pendingUpdates = new ArrayList<>());
+        Indexes rebuilt = new Indexes();
+        try {
+            CompletableFuture<List<Documents>> analyzed = CompletableFuture.completedFuture(List.of());
+            Long after = null;
+            while (true) {
+                List<ArtifactText> page = after == null
+                        ? this.artifactRepository.findTexts(Limit.of(LOAD_PAGE_SIZE))
+                        : this.artifactRepository.findTextsAfter(after, Limit.of(LOAD_PAGE_SIZE));
+                analyzed.join().forEach(rebuilt::add);
+                if (page.isEmpty()) {
+                    break;
+                }
+                analyzed = CompletableFuture.supplyAsync(() -> page.parallelStream()
+                        .map(text -> Documents.analyze(text.id(), text.name(), text.description()))
+                        .toList());
+                after = page.get(page.size() - 1).id();
+            }
+            write(indexes -> {
+                this.pendingUpdates.forEach(update -> update.accept(rebuilt));
+                this.indexes = rebuilt;
+            });
+        } finally {
+            write(indexes -> this.pendingUpdates = null);
+        }
+        LOGGER.info("Indexed {} artifacts for search in {} ms", rebuilt.text.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void put(Long artifactId, String name, String description) {
+        Documents documents = Documents.analyze(artifactId, name, description);
+        AfterCommit.run(() -> update(indexes -> indexes.add(documents)));
+    }
+
+    public void remove(Long artifactId) {
+        AfterCommit.run(() -> update(indexes -> indexes.remove(artifactId)));
+    }
+
+    /**
+     * Artifact ids matching any word of the query, best BM25 score first.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(ArtifactTokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        this.lock.readLock().lock();
+        try {
+            return this.indexes.text.search(terms, offset, limit);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Artifact ids whose name is within a few typos of the query, fewest edits first.
+     */
+    public SearchHits fuzzySearch(String query, int offset, int limit) {
+        this.lock.readLock().lock();
+        try {
+            return this.indexes.names.search(query, offset, limit);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void update(Consumer<Indexes> change) {
+        write(indexes -> {
+            change.accept(indexes);
+            if (this.pendingUpdates != null) {
+                this.pendingUpdates.add(change);
+            }
+        });
+    }
+
+    private void write(Consumer<Indexes> action) {
+        this.lock.writeLock().lock();
+        try {
+            action.accept(this.indexes);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private record Documents(InvertedIndex.Document text, TrigramIndex.Document name) {
+
+        static Documents analyze(long id, String name, String description) {
+            return new Documents(InvertedIndex.analyze(id, name, description), TrigramIndex.analyze(id, name));
+        }
+    }
+
+    private static final class Indexes {
+
+        private final InvertedIndex text = new InvertedIndex();
+
+        private final TrigramIndex names = new TrigramIndex();
+
+        void add(Documents documents) {
+            this.text.add(documents.text());
+            this.names.add(documents.name());
+        }
+
+        void remove(long id) {
+            this.text.remove(id);
+            this.names.remove(id);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSummary;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ArtifactSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Deeper pages cost a bigger heap on every query, clients should refine the query instead
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final ArtifactSearchIndex artifactSearchIndex;
+
+    private final ArtifactRepository artifactRepository;
+
+    public ArtifactSearchService(ArtifactSearchIndex artifactSearchIndex, ArtifactRepository artifactRepository) {
+        this.artifactSearchIndex = artifactSearchIndex;
+        this.artifactRepository = artifactRepository;
+    }
+
+    /**
+     * Ranks by BM25 over names and descriptions, or in fuzzy mode by how few typos separate the query from a name.
+     */
+    public SearchPage<ArtifactSummary> search(String query, int page, int size, boolean fuzzy){
+        if(size < 1 || size > MAX_PAGE_SIZE){
+            throw new InvalidArgumentException("size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if(page < 0 || (long) (page + 1) * size > MAX_RESULT_WINDOW){
+            throw new InvalidArgumentException("page must be between 0 and " + (MAX_RESULT_WINDOW / size - 1) + ".");
+        }
+        SearchHits hits = fuzzy
+                ? this.artifactSearchIndex.fuzzySearch(query, page * size, size)
+                : this.artifactSearchIndex.search(query, page * size, size);
+        if(hits.ids().isEmpty()){
+            return new SearchPage<>(List.of(), page, size, hits.totalHits(), hits.totalHitsExact());
+        }
+        // One query for the page, then back into rank order. An artifact deleted since the search is skipped.
+        Map<Long, ArtifactSummary> summaries = this.artifactRepository.findSummariesByIds(hits.ids()).stream()
+                .collect(Collectors.toMap(ArtifactSummary::id, Function.identity()));
+        List<ArtifactSummary> ranked = hits.ids().stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new SearchPage<>(ranked, page, size, hits.totalHits(), hits.totalHitsExact());
+    }
+
+}
@@ -0,0 +1,34 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-case terms at every character that is not a letter or a digit,
+ * so "Elder Wand's" becomes [elder, wand, s]. Queries and documents go through the same tokenizer.
+ */
+final class ArtifactTokenizer {
+
+    private ArtifactTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+}
@@ -0,0 +1,437 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory inverted index ranked with Okapi BM25. Each document gets an ordinal, and every term keeps the
+ * ordinals of the documents containing it in ascending order, so a query walks its terms' postings side by
+ * side and scores each matching document once, keeping only the best offset + limit in a heap.
+ * Removed documents are only marked deleted; a term's postings are compacted once half of them are dead,
+ * and ordinals are renumbered once there are more deleted documents than live ones.
+ * Not thread-safe, ArtifactSearchIndex guards it.
+ */
+final class InvertedIndex {
+
+    static final float K1 = 1.2f;
+
+    static final float B = 0.75f;
+
+    // A term in the name counts as often as two in the description
+    static final int NAME_BOOST = 2;
+
+    private static final int MIN_DELETED_TO_RENUMBER = 1024;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+
+    private long[] ids = new long[16];
+
+    private int[] lengths = new int[16];
+
+    // The postings of each document's distinct terms, to keep document frequencies exact on removal
+    private Postings[][] documentPostings = new Postings[16][];
+
+    private final BitSet deleted = new BitSet();
+
+    private int nextOrdinal;
+
+    private int deletedCount;
+
+    private long totalLength;
+
+    /**
+     * Tokenizes an artifact, this is the costly part of indexing and needs no lock.
+     */
+    static Document analyze(long id, String name, String description) {
+        Map<String, int[]> frequencies = new LinkedHashMap<>();
+        for (String term : ArtifactTokenizer.tokenize(name)) {
+            frequencies.computeIfAbsent(term, key -> new int[1])[0] += NAME_BOOST;
+        }
+        for (String term : ArtifactTokenizer.tokenize(description)) {
+            frequencies.computeIfAbsent(term, key -> new int[1])[0]++;
+        }
+        String[] terms = new String[frequencies.size()];
+        int[] counts = new int[frequencies.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, int[]> frequency : frequencies.entrySet()) {
+            terms[i] = frequency.getKey();
+            counts[i] = frequency.getValue()[0];
+            length += counts[i];
+            i++;
+        }
+        return new Document(id, terms, counts, length);
+    }
+
+    int size() {
+        return this.ordinals.size();
+    }
+
+    /**
+     * Adds a document, replacing the one with the same id if there is one.
+     */
+    void add(Document document) {
+        remove(document.id());
+        int ordinal = this.nextOrdinal++;
+        ensureCapacity(ordinal + 1);
+        this.ids[ordinal] = document.id();
+        this.lengths[ordinal] = document.length();
+        Postings[] termPostings = new Postings[document.terms().length];
+        for (int i = 0; i < termPostings.length; i++) {
+            termPostings[i] = this.postings.computeIfAbsent(document.terms()[i], Postings::new);
+            termPostings[i].add(ordinal, document.frequencies()[i]);
+        }
+        this.documentPostings[ordinal] = termPostings;
+        this.ordinals.put(document.id(), ordinal);
+        this.totalLength += document.length();
+    }
+
+    boolean remove(long id) {
+        Integer ordinal = this.ordinals.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+        this.deleted.set(ordinal);
+        this.deletedCount++;
+        this.totalLength -= this.lengths[ordinal];
+        for (Postings termPostings : this.documentPostings[ordinal]) {
+            termPostings.live--;
+            if (termPostings.live == 0) {
+                this.postings.remove(termPostings.term);
+            } else if (termPostings.live * 2 < termPostings.size) {
+                termPostings.compact(this.deleted);
+            }
+        }
+        this.documentPostings[ordinal] = null;
+        if (this.deletedCount >= MIN_DELETED_TO_RENUMBER && this.deletedCount > this.ordinals.size()) {
+            renumber();
+        }
+        return true;
+    }
+
+    /**
+     * Documents containing any of the terms, best BM25 score first, ties broken by indexing order.
+     * Uses MaxScore pruning: terms are ordered by the most they can add to a score, and once the heap is full,
+     * the low-impact terms whose bounds together cannot beat its worst score only get probed for documents
+     * found through the other terms, skipping ahead instead of walking their postings. Documents that only
+     * contain those terms are then not counted, and totalHits becomes a lower bound.
+     */
+    SearchHits search(Collection<String> terms, int offset, int limit) {
+        int documentCount = this.ordinals.size();
+        List<Postings> found = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Postings termPostings = this.postings.get(term);
+            if (termPostings != null) {
+                found.add(termPostings);
+            }
+        }
+        if (found.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        int n = found.size();
+        Postings[] lists = new Postings[n];
+        float[] idfs = new float[n];
+        float[] bounds = new float[n];
+        for (int i = 0; i < n; i++) {
+            lists[i] = found.get(i);
+            idfs[i] = (float) Math.log(1 + (documentCount - lists[i].live + 0.5) / (lists[i].live + 0.5));
+            bounds[i] = idfs[i] * (K1 + 1); // frequency / (frequency + norm) is always below 1
+        }
+        sortByBound(lists, idfs, bounds);
+        float[] boundSums = new float[n + 1]; // boundSums[i]: the most lists 0..i-1 can add together
+        for (int i = 0; i < n; i++) {
+            boundSums[i + 1] = boundSums[i] + bounds[i];
+        }
+
+        float averageLength = (float) this.totalLength / documentCount;
+        TopDocuments top = new TopDocuments(offset + limit);
+        int[] cursors = new int[n];
+        int essential = 0; // Lists before this index no longer produce candidates
+        int totalHits = 0;
+        boolean totalHitsExact = true;
+        while (true) {
+            int ordinal = Integer.MAX_VALUE;
+            for (int i = essential; i < n; i++) {
+                if (cursors[i] < lists[i].size && lists[i].ordinals[cursors[i]] < ordinal) {
+                    ordinal = lists[i].ordinals[cursors[i]];
+                }
+            }
+            if (ordinal == Integer.MAX_VALUE) {
+                break;
+            }
+            float norm = K1 * (1 - B + B * this.lengths[ordinal] / averageLength);
+            float score = 0;
+            for (int i = essential; i < n; i++) {
+                if (cursors[i] < lists[i].size && lists[i].ordinals[cursors[i]] == ordinal) {
+                    score += termScore(idfs[i], lists[i].frequencies[cursors[i]], norm);
+                    cursors[i]++;
+                }
+            }
+            if (this.deleted.get(ordinal)) {
+                continue;
+            }
+            totalHits++;
+            for (int i = essential - 1; i >= 0 && score + boundSums[i + 1] > top.threshold(); i--) {
+                cursors[i] = lists[i].advance(cursors[i], ordinal);
+                if (cursors[i] < lists[i].size && lists[i].ordinals[cursors[i]] == ordinal) {
+                    score += termScore(idfs[i], lists[i].frequencies[cursors[i]], norm);
+                }
+            }
+            if (top.offer(ordinal, score)) {
+                while (essential < n && boundSums[essential + 1] <= top.threshold()) {
+                    totalHitsExact &= cursors[essential] >= lists[essential].size;
+                    essential++;
+                }
+            }
+        }
+        int[] ranked = top.ranked();
+        List<Long> hits = new ArrayList<>(Math.max(0, ranked.length - offset));
+        for (int i = offset; i < ranked.length; i++) {
+            hits.add(this.ids[ranked[i]]);
+        }
+        return new SearchHits(hits, totalHits, totalHitsExact);
+    }
+
+    private static float termScore(float idf, int frequency, float norm) {
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    // Insertion sort, queries have a handful of terms
+    private static void sortByBound(Postings[] lists, float[] idfs, float[] bounds) {
+        for (int i = 1; i < lists.length; i++) {
+            for (int j = i; j > 0 && bounds[j] < bounds[j - 1]; j--) {
+                Postings list = lists[j];
+                lists[j] = lists[j - 1];
+                lists[j - 1] = list;
+                float idf = idfs[j];
+                idfs[j] = idfs[j - 1];
+                idfs[j - 1] = idf;
+                float bound = bounds[j];
+                bounds[j] = bounds[j - 1];
+                bounds[j - 1] = bound;
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.ids.length) {
+            int newLength = Math.max(capacity, this.ids.length * 2);
+            this.ids = Arrays.copyOf(this.ids, newLength);
+            this.lengths = Arrays.copyOf(this.lengths, newLength);
+            this.documentPostings = Arrays.copyOf(this.documentPostings, newLength);
+        }
+    }
+
+    // Packs live documents into ordinals 0..n-1, the mapping is monotonic so postings stay sorted
+    private void renumber() {
+        int[] newOrdinals = new int[this.nextOrdinal];
+        int next = 0;
+        for (int ordinal = 0; ordinal < this.nextOrdinal; ordinal++) {
+            if (this.deleted.get(ordinal)) {
+                newOrdinals[ordinal] = -1;
+                continue;
+            }
+            newOrdinals[ordinal] = next;
+            this.ids[next] = this.ids[ordinal];
+            this.lengths[next] = this.lengths[ordinal];
+            this.documentPostings[next] = this.documentPostings[ordinal];
+            this.ordinals.put(this.ids[next], next);
+            next++;
+        }
+        Arrays.fill(this.documentPostings, next, this.nextOrdinal, null);
+        for (Postings termPostings : this.postings.values()) {
+            termPostings.renumber(newOrdinals);
+        }
+        this.deleted.clear();
+        this.deletedCount = 0;
+        this.nextOrdinal = next;
+    }
+
+    record Document(long id, String[] terms, int[] frequencies, int length) {
+    }
+
+    private static final class Postings {
+
+        private final String term;
+
+        private int[] ordinals = new int[2];
+
+        private short[] frequencies = new short[2];
+
+        private int size;
+
+        private int live;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int ordinal, int frequency) {
+            if (this.size == this.ordinals.length) {
+                this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+                this.frequencies = Arrays.copyOf(this.frequencies, this.size * 2);
+            }
+            this.ordinals[this.size] = ordinal;
+            this.frequencies[this.size] = (short) Math.min(frequency, Short.MAX_VALUE);
+            this.size++;
+            this.live++;
+        }
+
+        /**
+         * The first index at or after from whose ordinal is at least target: gallops, then binary searches.
+         */
+        int advance(int from, int target) {
+            int low = from;
+            int step = 1;
+            int high = from;
+            while (high < this.size && this.ordinals[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, this.size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.ordinals[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void compact(BitSet deleted) {
+            int kept = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (!deleted.get(this.ordinals[i])) {
+                    this.ordinals[kept] = this.ordinals[i];
+                    this.frequencies[kept] = this.frequencies[i];
+                    kept++;
+                }
+            }
+            this.size = kept;
+        }
+
+        void renumber(int[] newOrdinals) {
+            int kept = 0;
+            for (int i = 0; i < this.size; i++) {
+                int ordinal = newOrdinals[this.ordinals[i]];
+                if (ordinal >= 0) {
+                    this.ordinals[kept] = ordinal;
+                    this.frequencies[kept] = this.frequencies[i];
+                    kept++;
+                }
+            }
+            this.size = kept;
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best documents seen so far, the root is the worst of them.
+     */
+    private static final class TopDocuments {
+
+        private final int[] ordinals;
+
+        private final float[] scores;
+
+        private int size;
+
+        TopDocuments(int capacity) {
+            this.ordinals = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        /**
+         * Returns true when the heap is full after a change of its worst score.
+         */
+        boolean offer(int ordinal, float score) {
+            if (this.size < this.ordinals.length) {
+                this.ordinals[this.size] = ordinal;
+                this.scores[this.size] = score;
+                siftUp(this.size++);
+                return this.size == this.ordinals.length;
+            }
+            if (this.size > 0 && score > this.scores[0]) {
+                // Ordinals arrive in ascending order, so an equal score never displaces an earlier document
+                this.ordinals[0] = ordinal;
+                this.scores[0] = score;
+                siftDown(0);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * The score a document must beat to enter, negative infinity while the heap has room.
+         */
+        float threshold() {
+            return this.size < this.ordinals.length || this.size == 0 ? Float.NEGATIVE_INFINITY : this.scores[0];
+        }
+
+        int[] ranked() {
+            int[] ranked = new int[this.size];
+            for (int i = this.size - 1; i >= 0; i--) {
+                ranked[i] = this.ordinals[0];
+                this.size--;
+                this.ordinals[0] = this.ordinals[this.size];
+                this.scores[0] = this.scores[this.size];
+                siftDown(0);
+            }
+            return ranked;
+        }
+
+        private boolean worse(int a, int b) {
+            return this.scores[a] < this.scores[b] || (this.scores[a] == this.scores[b] && this.ordinals[a] > this.ordinals[b]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!worse(i, parent)) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int right = left + 1;
+                int smallest = i;
+                if (left < this.size && worse(left, smallest)) {
+                    smallest = left;
+                }
+                if (right < this.size && worse(right, smallest)) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = this.ordinals[a];
+            this.ordinals[a] = this.ordinals[b];
+            this.ordinals[b] = ordinal;
+            float score = this.scores[a];
+            this.scores[a] = this.scores[b];
+            this.scores[b] = score;
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import java.util.List;
+
+/**
+ * Artifact ids of one page of search results, best match first, and the number of artifacts that matched.
+ * When totalHitsExact is false, totalHits is a lower bound: the index skipped artifacts that could not rank.
+ */
+public record SearchHits(List<Long> ids, int totalHits, boolean totalHitsExact) {
+
+    static final SearchHits EMPTY = new SearchHits(List.of(), 0, true);
+
+}
@@ -0,0 +1,10 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. Unlike CursorPage it is addressed by page number, ranks are not a stable key.
+ * totalHits is a lower bound when totalHitsExact is false.
+ */
+public record SearchPage<T>(List<T> content, int page, int size, int totalHits, boolean totalHitsExact) {
+}
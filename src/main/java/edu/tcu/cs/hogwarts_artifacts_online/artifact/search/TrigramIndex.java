@@ -0,0 +1,548 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory trigram index over artifact names for typo-tolerant lookup. A name is tokenized like the full-text
+ * index, its words are joined by single spaces and padded with one space at each end, and every trigram keeps
+ * the ordinals of the names containing it in an ascending int array. A query takes its candidates from a few
+ * of its trigrams' lists, so most names are never looked at, and the candidates are then re-ranked by their
+ * edit distance to the best matching part of the name.
+ * Deletion, compaction and renumbering work as in InvertedIndex.
+ * Not thread-safe, ArtifactSearchIndex guards it.
+ */
+final class TrigramIndex {
+
+    private static final int MIN_DELETED_TO_RENUMBER = 1024;
+
+    // Bounds the trigrams a query probes and the cost of matching it against a name
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+
+    private long[] ids = new long[16];
+
+    // Every name's characters in one array, so candidates are checked without chasing a String per name.
+    // A removed name's characters stay until the next renumbering.
+    private char[] characters = new char[256];
+
+    private int charactersUsed;
+
+    private int[] offsets = new int[16];
+
+    private int[] lengths = new int[16];
+
+    private final BitSet deleted = new BitSet();
+
+    private int nextOrdinal;
+
+    private int deletedCount;
+
+    /**
+     * Normalizes a name and collects its trigrams, this needs no lock.
+     */
+    static Document analyze(long id, String name) {
+        String normalized = normalize(name);
+        return new Document(id, normalized, trigrams(padded(normalized)));
+    }
+
+    /**
+     * The number of edits a query may be away from a name, as a function of its length: none up to three
+     * characters, one up to seven, two beyond. Looser budgets let short queries match most of the catalog.
+     */
+    static int maxEdits(String normalizedQuery) {
+        int length = normalizedQuery.length();
+        return length <= 3 ? 0 : length <= 7 ? 1 : 2;
+    }
+
+    static String normalize(String text) {
+        return String.join(" ", ArtifactTokenizer.tokenize(text));
+    }
+
+    int size() {
+        return this.ordinals.size();
+    }
+
+    /**
+     * Adds a document, replacing the one with the same id if there is one.
+     */
+    void add(Document document) {
+        remove(document.id());
+        int ordinal = this.nextOrdinal++;
+        ensureCapacity(ordinal + 1);
+        this.ids[ordinal] = document.id();
+        String name = document.name();
+        if (this.charactersUsed + name.length() > this.characters.length) {
+            this.characters = Arrays.copyOf(this.characters, Math.max(this.charactersUsed + name.length(), this.characters.length * 2));
+        }
+        name.getChars(0, name.length(), this.characters, this.charactersUsed);
+        this.offsets[ordinal] = this.charactersUsed;
+        this.lengths[ordinal] = name.length();
+        this.charactersUsed += name.length();
+        for (long trigram : document.trigrams()) {
+            this.postings.computeIfAbsent(trigram, key -> new Postings()).add(ordinal);
+        }
+        this.ordinals.put(document.id(), ordinal);
+    }
+
+    boolean remove(long id) {
+        Integer ordinal = this.ordinals.remove(id);
+        if (ordinal == null) {
+            return false;
+        }
+        this.deleted.set(ordinal);
+        this.deletedCount++;
+        for (long trigram : trigrams(padded(name(ordinal)))) {
+            Postings trigramPostings = this.postings.get(trigram);
+            trigramPostings.live--;
+            if (trigramPostings.live == 0) {
+                this.postings.remove(trigram);
+            } else if (trigramPostings.live * 2 < trigramPostings.size) {
+                trigramPostings.compact(this.deleted);
+            }
+        }
+        if (this.deletedCount >= MIN_DELETED_TO_RENUMBER && this.deletedCount > this.ordinals.size()) {
+            renumber();
+        }
+        return true;
+    }
+
+    /**
+     * Names with a part within maxEdits(query) edits of the query, fewest edits first, then the names closest
+     * in length to the query, then indexing order.
+     */
+    SearchHits search(String query, int offset, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+        normalized = normalized.substring(0, Math.min(normalized.length(), MAX_QUERY_LENGTH));
+        int maxEdits = maxEdits(normalized);
+        int[] candidates = normalized.length() >= 3 * (maxEdits + 1)
+                ? candidatesByPieces(normalized, maxEdits)
+                : candidatesByCount(normalized, maxEdits);
+        Pattern pattern = new Pattern(normalized);
+        int[] matches = new int[16];
+        int[] distances = new int[16];
+        int matched = 0;
+        for (int ordinal : candidates) {
+            if (this.deleted.get(ordinal) || this.lengths[ordinal] < normalized.length() - maxEdits) {
+                continue;
+            }
+            int distance = pattern.distance(this.characters, this.offsets[ordinal], this.lengths[ordinal]);
+            if (distance <= maxEdits) {
+                if (matched == matches.length) {
+                    matches = Arrays.copyOf(matches, matched * 2);
+                    distances = Arrays.copyOf(distances, matched * 2);
+                }
+                matches[matched] = ordinal;
+                distances[matched] = distance;
+                matched++;
+            }
+        }
+        return page(normalized, matches, distances, matched, offset, limit);
+    }
+
+    /**
+     * Picks maxEdits + 1 disjoint pieces of at least three characters from the query. The edits leave one of
+     * them intact, so a match contains every trigram of some piece, wherever the match is in the name: the
+     * candidates are the union over the pieces of the intersection of their trigrams' lists. Any disjoint pieces
+     * will do, so they are chosen to minimize the summed length of each piece's shortest list, which is the
+     * work of walking them. That keeps pieces out of common words.
+     */
+    private int[] candidatesByPieces(String query, int maxEdits) {
+        int pieces = maxEdits + 1;
+        int n = query.length();
+        Postings[] at = new Postings[n - 2];
+        for (int i = 0; i < at.length; i++) {
+            at[i] = this.postings.getOrDefault(trigramAt(query, i), Postings.EMPTY);
+        }
+        // cost[k][j]: the cheapest k pieces within query[0, j), start[k][j]: where the last one starts, or -1
+        long[][] cost = new long[pieces + 1][n + 1];
+        int[][] start = new int[pieces + 1][n + 1];
+        for (int k = 1; k <= pieces; k++) {
+            for (int j = 0; j <= n; j++) {
+                cost[k][j] = j == 0 ? Long.MAX_VALUE : cost[k][j - 1];
+                start[k][j] = -1;
+                int shortest = Integer.MAX_VALUE;
+                for (int a = j - 3; a >= 0; a--) {
+                    shortest = Math.min(shortest, at[a].size);
+                    if (cost[k - 1][a] != Long.MAX_VALUE && cost[k - 1][a] + shortest < cost[k][j]) {
+                        cost[k][j] = cost[k - 1][a] + shortest;
+                        start[k][j] = a;
+                    }
+                }
+            }
+        }
+        int[] sorted = new int[0];
+        for (int k = pieces, j = n; k > 0; k--) {
+            while (start[k][j] < 0) {
+                j--;
+            }
+            int a = start[k][j];
+            sorted = union(sorted, intersection(Arrays.copyOfRange(at, a, j - 2)));
+            j = a;
+        }
+        // The match also keeps all but 3 * maxEdits of the query's trigrams, probed from the shortest list on
+        long[] trigrams = trigrams(query);
+        Postings[] lists = new Postings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            lists[i] = this.postings.getOrDefault(trigrams[i], Postings.EMPTY);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int required = trigrams.length - 3 * maxEdits;
+        int[] cursors = new int[lists.length];
+        int kept = 0;
+        for (int ordinal : sorted) {
+            int shared = 0;
+            for (int l = 0; l < lists.length && shared < required && shared + lists.length - l >= required; l++) {
+                cursors[l] = lists[l].advance(cursors[l], ordinal);
+                if (cursors[l] < lists[l].size && lists[l].ordinals[cursors[l]] == ordinal) {
+                    shared++;
+                }
+            }
+            if (shared >= required) {
+                sorted[kept++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(sorted, kept);
+    }
+
+    // The ordinals in every list, ascending, walking the shortest and galloping through the others
+    private static int[] intersection(Postings[] lists) {
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int[] cursors = new int[lists.length];
+        int[] ordinals = new int[lists[0].size];
+        int count = 0;
+        for (int i = 0; i < lists[0].size; i++) {
+            int ordinal = lists[0].ordinals[i];
+            boolean everywhere = true;
+            for (int l = 1; l < lists.length && everywhere; l++) {
+                cursors[l] = lists[l].advance(cursors[l], ordinal);
+                everywhere = cursors[l] < lists[l].size && lists[l].ordinals[cursors[l]] == ordinal;
+            }
+            if (everywhere) {
+                ordinals[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(ordinals, count);
+    }
+
+    private static int[] union(int[] left, int[] right) {
+        int[] union = new int[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < left.length || j < right.length) {
+            int ordinal = j == right.length || (i < left.length && left[i] <= right[j]) ? left[i] : right[j];
+            union[count++] = ordinal;
+            while (i < left.length && left[i] == ordinal) {
+                i++;
+            }
+            while (j < right.length && right[j] == ordinal) {
+                j++;
+            }
+        }
+        return Arrays.copyOf(union, count);
+    }
+
+    /**
+     * For queries too short to cut into pieces. A match aligned with the words of a name shares at least
+     * q - 3d of the query's q padded trigrams, since one edit breaks at most three. So it is in one of the
+     * q - (q - 3d) + 1 shortest lists, which are merged, and the longer ones are only probed by galloping.
+     */
+    private int[] candidatesByCount(String query, int maxEdits) {
+        long[] trigrams = trigrams(padded(query));
+        int required = Math.max(1, trigrams.length - 3 * maxEdits);
+        Postings[] lists = new Postings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            lists[i] = this.postings.getOrDefault(trigrams[i], Postings.EMPTY);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int scanned = trigrams.length - required + 1;
+        int[] cursors = new int[lists.length];
+        int[] candidates = new int[16];
+        int count = 0;
+        while (true) {
+            int ordinal = Integer.MAX_VALUE;
+            for (int l = 0; l < scanned; l++) {
+                if (cursors[l] < lists[l].size) {
+                    ordinal = Math.min(ordinal, lists[l].ordinals[cursors[l]]);
+                }
+            }
+            if (ordinal == Integer.MAX_VALUE) {
+                break;
+            }
+            int shared = 0;
+            for (int l = 0; l < scanned; l++) {
+                if (cursors[l] < lists[l].size && lists[l].ordinals[cursors[l]] == ordinal) {
+                    shared++;
+                    cursors[l]++;
+                }
+            }
+            for (int l = scanned; l < lists.length && shared < required && shared + lists.length - l >= required; l++) {
+                cursors[l] = lists[l].advance(cursors[l], ordinal);
+                if (cursors[l] < lists[l].size && lists[l].ordinals[cursors[l]] == ordinal) {
+                    shared++;
+                }
+            }
+            if (shared >= required) {
+                if (count == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, count * 2);
+                }
+                candidates[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private SearchHits page(String query, int[] matches, int[] distances, int matched, int offset, int limit) {
+        if (offset >= matched) {
+            return new SearchHits(List.of(), matched, true);
+        }
+        long[] keys = new long[matched];
+        for (int i = 0; i < matched; i++) {
+            // Packs the ranking into one sortable long: edits, then length difference, then ordinal
+            long lengthDifference = Math.min(Math.abs(this.lengths[matches[i]] - query.length()), 0xFFFF);
+            keys[i] = ((long) distances[i] << 48) | (lengthDifference << 32) | matches[i];
+        }
+        Arrays.sort(keys);
+        int end = (int) Math.min((long) offset + limit, matched);
+        Long[] ids = new Long[end - offset];
+        for (int i = offset; i < end; i++) {
+            ids[i - offset] = this.ids[(int) keys[i]];
+        }
+        return new SearchHits(List.of(ids), matched, true);
+    }
+
+    private String name(int ordinal) {
+        return new String(this.characters, this.offsets[ordinal], this.lengths[ordinal]);
+    }
+
+    // Packs the three chars starting at i into the low 48 bits
+    private static long trigramAt(String text, int i) {
+        return ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+    }
+
+    private static String padded(String normalized) {
+        return " " + normalized + " ";
+    }
+
+    // Distinct, in order of first occurrence
+    private static long[] trigrams(String text) {
+        long[] trigrams = new long[Math.max(0, text.length() - 2)];
+        int count = 0;
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long trigram = trigramAt(text, i);
+            boolean seen = false;
+            for (int j = 0; j < count && !seen; j++) {
+                seen = trigrams[j] == trigram;
+            }
+            if (!seen) {
+                trigrams[count++] = trigram;
+            }
+        }
+        return Arrays.copyOf(trigrams, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.ids.length) {
+            int newLength = Math.max(capacity, this.ids.length * 2);
+            this.ids = Arrays.copyOf(this.ids, newLength);
+            this.offsets = Arrays.copyOf(this.offsets, newLength);
+            this.lengths = Arrays.copyOf(this.lengths, newLength);
+        }
+    }
+
+    // Packs live documents into ordinals 0..n-1, the mapping is monotonic so postings stay sorted
+    private void renumber() {
+        int[] newOrdinals = new int[this.nextOrdinal];
+        char[] packed = new char[Math.max(256, this.charactersUsed)];
+        int used = 0;
+        int next = 0;
+        for (int ordinal = 0; ordinal < this.nextOrdinal; ordinal++) {
+            if (this.deleted.get(ordinal)) {
+                newOrdinals[ordinal] = -1;
+                continue;
+            }
+            newOrdinals[ordinal] = next;
+            this.ids[next] = this.ids[ordinal];
+            System.arraycopy(this.characters, this.offsets[ordinal], packed, used, this.lengths[ordinal]);
+            this.offsets[next] = used;
+            this.lengths[next] = this.lengths[ordinal];
+            used += this.lengths[next];
+            this.ordinals.put(this.ids[next], next);
+            next++;
+        }
+        this.characters = packed;
+        this.charactersUsed = used;
+        for (Postings trigramPostings : this.postings.values()) {
+            trigramPostings.renumber(newOrdinals);
+        }
+        this.deleted.clear();
+        this.deletedCount = 0;
+        this.nextOrdinal = next;
+    }
+
+    record Document(long id, String name, long[] trigrams) {
+    }
+
+    /**
+     * Levenshtein distance from a query to its closest substring of a name, using Myers' bit-parallel algorithm:
+     * each query character is one bit of a word, so a name character costs a few word operations instead of a
+     * column of the dynamic program. Queries longer than 64 characters fall back to the dynamic program.
+     */
+    static final class Pattern {
+
+        private final String query;
+
+        private final long[] asciiMasks = new long[128];
+
+        Pattern(String query) {
+            this.query = query;
+            for (int i = 0; i < Math.min(query.length(), Long.SIZE); i++) {
+                char c = query.charAt(i);
+                if (c < this.asciiMasks.length) {
+                    this.asciiMasks[c] |= 1L << i;
+                }
+            }
+        }
+
+        int distance(String name) {
+            return distance(name.toCharArray(), 0, name.length());
+        }
+
+        int distance(char[] characters, int offset, int length) {
+            int m = this.query.length();
+            if (m > Long.SIZE) {
+                return dynamicDistance(characters, offset, length);
+            }
+            int last = m - 1;
+            long positive = -1L; // Vertical deltas of +1, the first column is 0, 1, ..., m
+            long negative = 0L;
+            int score = m;
+            int best = m;
+            for (int j = offset; j < offset + length && best > 0; j++) {
+                long equal = mask(characters[j]);
+                long xv = equal | negative;
+                long xh = (((equal & positive) + positive) ^ positive) | equal;
+                long horizontalPositive = negative | ~(xh | positive);
+                long horizontalNegative = positive & xh;
+                // The bottom row moves by +1 or -1 when the last bit is set, never both, so no branch is needed
+                score += (int) (horizontalPositive >>> last & 1L) - (int) (horizontalNegative >>> last & 1L);
+                // A match may start anywhere in the name, so row 0 stays 0 and nothing is shifted in
+                horizontalPositive <<= 1;
+                horizontalNegative <<= 1;
+                positive = horizontalNegative | ~(xv | horizontalPositive);
+                negative = horizontalPositive & xv;
+                best = Math.min(best, score);
+            }
+            return best;
+        }
+
+        private long mask(char c) {
+            if (c < this.asciiMasks.length) {
+                return this.asciiMasks[c];
+            }
+            long mask = 0L;
+            for (int i = 0; i < this.query.length(); i++) {
+                if (this.query.charAt(i) == c) {
+                    mask |= 1L << i;
+                }
+            }
+            return mask;
+        }
+
+        private int dynamicDistance(char[] characters, int offset, int length) {
+            int m = this.query.length();
+            int[] column = new int[m + 1];
+            for (int i = 0; i <= m; i++) {
+                column[i] = i;
+            }
+            int best = m;
+            for (int j = offset; j < offset + length && best > 0; j++) {
+                int diagonal = column[0];
+                for (int i = 1; i <= m; i++) {
+                    int above = column[i];
+                    int cost = this.query.charAt(i - 1) == characters[j] ? 0 : 1;
+                    column[i] = Math.min(Math.min(column[i - 1] + 1, above + 1), diagonal + cost);
+                    diagonal = above;
+                }
+                best = Math.min(best, column[m]);
+            }
+            return best;
+        }
+    }
+
+    private static final class Postings {
+
+        static final Postings EMPTY = new Postings();
+
+        private int[] ordinals = new int[2];
+
+        private int size;
+
+        private int live;
+
+        void add(int ordinal) {
+            if (this.size == this.ordinals.length) {
+                this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+            }
+            this.ordinals[this.size++] = ordinal;
+            this.live++;
+        }
+
+        /**
+         * The first index at or after from whose ordinal is at least target: gallops, then binary searches.
+         */
+        int advance(int from, int target) {
+            int low = from;
+            int step = 1;
+            int high = from;
+            while (high < this.size && this.ordinals[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, this.size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.ordinals[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void compact(BitSet deleted) {
+            int kept = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (!deleted.get(this.ordinals[i])) {
+                    this.ordinals[kept++] = this.ordinals[i];
+                }
+            }
+            this.size = kept;
+        }
+
+        void renumber(int[] newOrdinals) {
+            int kept = 0;
+            for (int i = 0; i < this.size; i++) {
+                int ordinal = newOrdinals[this.ordinals[i]];
+                if (ordinal >= 0) {
+                    this.ordinals[kept++] = ordinal;
+                }
+            }
+            this.size = kept;
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis;
+
+import java.util.Optional;
+
+/**
+ * Artifact ids are stored as BIGINT but travel as decimal strings in ArtifactDto and in the REST paths,
+ * so JavaScript clients never lose precision on 64-bit values.
+ */
+public final class ArtifactIds {
+
+    private ArtifactIds() {
+    }
+
+    /**
+     * Returns empty for anything that is not a decimal long, such an id cannot exist in the database.
+     */
+    public static Optional<Long> tryParse(String artifactId) {
+        if (artifactId == null || artifactId.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(artifactId));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public static String toString(Long artifactId) {
+        return artifactId != null ? artifactId.toString() : null;
+    }
+}
@@ -1,8 +1,6 @@
 package edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis;
 
-import java.lang.management.ManagementFactory;
-import java.net.InetAddress;
-import java.net.NetworkInterface;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This piece of code is from the Internet. The quality is unknown.
@@ -30,90 +28,159 @@ public class IdWorker {
 
     private final static long sequenceMask = -1L ^ (-1L << sequenceBits);
 
-    private static long lastTimestamp = -1L;
+    // Milliseconds since twepoch in the high bits, the last sequence handed out in that millisecond in the low sequenceBits
+    private final AtomicLong state = new AtomicLong();
 
-    private long sequence = 0L;
-
-    private final long workerId;
-
-    private final long datacenterId;
+    // The worker and datacenter ids stamped into every id, null while this worker holds none
+    private volatile Assignment assignment;
 
 
+    /**
+     * A worker that refuses to generate ids until it is assigned a worker and datacenter id.
+     */
     public IdWorker() {
-        this.datacenterId = getDatacenterId(maxDatacenterId);
-        this.workerId = getMaxWorkerId(datacenterId, maxWorkerId);
     }
 
     public IdWorker(long workerId, long datacenterId) {
+        assign(workerId, datacenterId, false, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Uses workerId and datacenterId until System.nanoTime() reaches validUntilNanos. After that, ids are refused
+     * until the assignment is extended, so a worker that lost its lease cannot keep using the ids. Ids are also
+     * refused once the clock passes maxTimestamp (epoch millis), the bound recorded with the lease, even if the
+     * wall clock jumped forward.
+     */
+    public void assign(long workerId, long datacenterId, long validUntilNanos, long maxTimestamp) {
+        assign(workerId, datacenterId, true, validUntilNanos, maxTimestamp);
+    }
+
+    /**
+     * Never generates an id with a timestamp at or before the given epoch millis, e.g. the last one the previous
+     * holder of the worker id may have used. Until the clock passes it, ids are refused as if it moved backwards.
+     */
+    public void skipTo(long timestamp) {
+        long skipped = ((timestamp - twepoch) << sequenceBits) | sequenceMask;
+        this.state.accumulateAndGet(skipped, Math::max);
+    }
+
+    /**
+     * The timestamp (epoch millis) of the last id generated, or twepoch if none was.
+     */
+    public long lastTimestamp() {
+        return (this.state.get() >>> sequenceBits) + twepoch;
+    }
+
+    /**
+     * Stops generating ids right away, until the next assign.
+     */
+    public void revoke() {
+        this.assignment = null;
+    }
+
+    private void assign(long workerId, long datacenterId, boolean expires, long validUntilNanos, long maxTimestamp) {
         if (workerId > maxWorkerId || workerId < 0) {
             throw new IllegalArgumentException(String.format("worker Id can't be greater than %d or less than 0", maxWorkerId));
         }
         if (datacenterId > maxDatacenterId || datacenterId < 0) {
             throw new IllegalArgumentException(String.format("datacenter Id can't be greater than %d or less than 0", maxDatacenterId));
         }
-        this.workerId = workerId;
-        this.datacenterId = datacenterId;
+        this.assignment = new Assignment((datacenterId << datacenterIdShift) | (workerId << workerIdShift), expires, validUntilNanos,
+                maxTimestamp == Long.MAX_VALUE ? Long.MAX_VALUE : maxTimestamp - twepoch);
     }
 
-    public synchronized long nextId() {
-        long timestamp = timeGen();
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
-        }
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & sequenceMask;
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
+    public long nextId() {
+        Assignment current = assignment();
+        long nodeBits = current.nodeBits();
+        while (true) {
+            // Read the state before the clock, so a concurrent update can never look like the clock moved backwards
+            long packed = this.state.get();
+            long lastTimestamp = packed >>> sequenceBits;
+            long timestamp = timeGen() - twepoch;
+            long next;
+            if (timestamp < lastTimestamp) {
+                throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+            }
+            checkMaxTimestamp(current, timestamp);
+            if (timestamp == lastTimestamp) {
+                if ((packed & sequenceMask) == sequenceMask) {
+                    Thread.onSpinWait(); // Sequence exhausted for this millisecond
+                    continue;
+                }
+                next = packed + 1;
+            } else {
+                next = timestamp << sequenceBits;
+            }
+            if (this.state.compareAndSet(packed, next)) {
+                return toId(next, nodeBits);
             }
-        } else {
-            sequence = 0L;
         }
-        lastTimestamp = timestamp;
-        long nextId = ((timestamp - twepoch) << timestampLeftShift)
-                | (datacenterId << datacenterIdShift)
-                | (workerId << workerIdShift) | sequence;
-        return nextId;
     }
 
-    private long tilNextMillis(final long lastTimestamp) {
-        long timestamp = this.timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = this.timeGen();
+    /**
+     * Reserves n ids with one compare-and-set per millisecond touched: within a millisecond
+     * the reserved sequences form one contiguous range.
+     */
+    public long[] nextIds(int n) {
+        Assignment current = assignment();
+        long nodeBits = current.nodeBits();
+        long[] ids = new long[n];
+        int filled = 0;
+        while (filled < n) {
+            long packed = this.state.get();
+            long lastTimestamp = packed >>> sequenceBits;
+            long timestamp = timeGen() - twepoch;
+            long first;
+            long available;
+            if (timestamp < lastTimestamp) {
+                throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+            }
+            checkMaxTimestamp(current, timestamp);
+            if (timestamp == lastTimestamp) {
+                available = sequenceMask - (packed & sequenceMask);
+                if (available == 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                first = packed + 1;
+            } else {
+                available = sequenceMask + 1;
+                first = timestamp << sequenceBits;
+            }
+            int reserved = (int) Math.min(available, n - filled);
+            if (this.state.compareAndSet(packed, first + reserved - 1)) {
+                for (int i = 0; i < reserved; i++) {
+                    ids[filled++] = toId(first + i, nodeBits);
+                }
+            }
         }
-        return timestamp;
+        return ids;
     }
 
-    private long timeGen() {
-        return System.currentTimeMillis();
+    private Assignment assignment() {
+        Assignment current = this.assignment;
+        if (current == null || (current.expires() && System.nanoTime() - current.validUntilNanos() >= 0)) {
+            throw new IllegalStateException("No worker id is held.  Refusing to generate ids");
+        }
+        return current;
     }
 
-    protected static long getMaxWorkerId(long datacenterId, long maxWorkerId) {
-        StringBuffer mpid = new StringBuffer();
-        mpid.append(datacenterId);
-        String name = ManagementFactory.getRuntimeMXBean().getName();
-        if (!name.isEmpty()) {
-            mpid.append(name.split("@")[0]); // GET jvmPid
+    private static void checkMaxTimestamp(Assignment current, long timestamp) {
+        if (timestamp > current.maxTimestamp()) {
+            throw new IllegalStateException("Clock is past the worker id lease.  Refusing to generate ids until it is renewed");
         }
-        return (mpid.toString().hashCode() & 0xffff) % (maxWorkerId + 1);
     }
 
-    protected static long getDatacenterId(long maxDatacenterId) {
-        long id = 0L;
-        try {
-            InetAddress ip = InetAddress.getLocalHost();
-            NetworkInterface network = NetworkInterface.getByInetAddress(ip);
-            if (network == null) {
-                id = 1L;
-            } else {
-                byte[] mac = network.getHardwareAddress();
-                id = ((0x000000FF & (long) mac[mac.length - 1])
-                        | (0x0000FF00 & (((long) mac[mac.length - 2]) << 8))) >> 6;
-                id = id % (maxDatacenterId + 1);
-            }
-        } catch (Exception e) {
-            System.out.println(" getDatacenterId: " + e.getMessage());
-        }
-        return id;
+    private static long toId(long packedState, long nodeBits) {
+        return ((packedState >>> sequenceBits) << timestampLeftShift) | nodeBits | (packedState & sequenceMask);
+    }
+
+    private long timeGen() {
+        return System.currentTimeMillis();
+    }
+
+    // maxTimestamp is in milliseconds since twepoch, like the timestamps in the state
+    private record Assignment(long nodeBits, boolean expires, long validUntilNanos, long maxTimestamp) {
     }
 
 }
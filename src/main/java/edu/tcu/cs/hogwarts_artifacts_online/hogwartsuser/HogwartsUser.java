@@ -1,18 +1,20 @@
 package edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser;
 
+import edu.tcu.cs.hogwarts_artifacts_online.system.id.PooledSequence;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 
 import java.io.Serializable;
 
 @Entity
+@Table(indexes = @Index(name = "idx_hogwarts_user_username", columnList = "username", unique = true))
 public class HogwartsUser implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @PooledSequence
     private Integer id;
 
     @NotEmpty(message = "username is required.")
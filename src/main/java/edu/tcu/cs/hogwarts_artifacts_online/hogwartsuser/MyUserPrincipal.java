@@ -7,23 +7,36 @@ import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MyUserPrincipal implements UserDetails {
 
+    // One shared instance per role name, there are only a handful of distinct roles
+    private static final ConcurrentMap<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
     private HogwartsUser hogwartsUser;
 
+    private final List<GrantedAuthority> authorities;
+
     public MyUserPrincipal(HogwartsUser hogwartsUser) {
         this.hogwartsUser = hogwartsUser;
+        this.authorities = toAuthorities(hogwartsUser.getRoles());
     }
 
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        return this.authorities;
+    }
+
+    private static List<GrantedAuthority> toAuthorities(String roles) {
         // Convert a user's roles from space-delimited string to a list of SimpleGrantedAuthority objects.
         // Es., john's roles are stored in a string like "admin user moderator", we need to convert it to a list of GrantedAuthority.
         // Before conversion, we need to add this "ROLE_" prefix to each role name.
-        return Arrays.stream(StringUtils.tokenizeToStringArray(this.hogwartsUser.getRoles(), " "))
-                .map(role -> new SimpleGrantedAuthority("ROLE_"+ role))
+        return Arrays.stream(StringUtils.tokenizeToStringArray(roles, " "))
+                .map(role -> AUTHORITIES.computeIfAbsent(role, name -> new SimpleGrantedAuthority("ROLE_" + name)))
                 .toList();
     }
 
@@ -3,6 +3,7 @@ package edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser;
 import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.converter.UserDtoToUserConverter;
 import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.converter.UserToUserDtoConverter;
 import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.dto.UserDto;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
 import edu.tcu.cs.hogwarts_artifacts_online.system.Result;
 import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
 import jakarta.validation.Valid;
@@ -38,6 +39,15 @@ public class UserController {
         return new Result(true, StatusCode.SUCCESS, "Find All Success", userDtos);
     }
 
+    @GetMapping(params = "ids")
+    public Result findUsersByIds(@RequestParam List<String> ids){
+        MultiGet<HogwartsUser> foundHogwartsUsers = this.userService.findAllByIds(ids);
+        List<UserDto> userDtos = foundHogwartsUsers.content().stream()
+                .map(this.userToUserDtoConverter::convert)
+                .collect(Collectors.toList());
+        return new Result(true, StatusCode.SUCCESS, "Find Many Success", new MultiGet<>(userDtos, foundHogwartsUsers.missingIds()));
+    }
+
     @GetMapping("/{userId}")
     public Result findUserById(@PathVariable Integer userId){
         HogwartsUser foundHogwartsUser = this.userService.findById(userId);
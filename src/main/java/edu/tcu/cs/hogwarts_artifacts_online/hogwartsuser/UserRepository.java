@@ -1,11 +1,27 @@
 package edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<HogwartsUser, Integer> {
 
+    // Both read through the unique username index
+
     Optional<HogwartsUser> findByUsername(String username);
 
+    boolean existsByUsername(String username);
+
+    boolean existsByUsernameAndIdNot(String username, Integer id);
+
+    /**
+     * Deletes in one statement, without loading the user first.
+     * Returns the number of deleted rows, 0 if there is no user with this id.
+     */
+    @Modifying
+    @Query("delete from HogwartsUser u where u.id = :id")
+    int deleteUserById(Integer id);
+
 }
@@ -1,7 +1,13 @@
 package edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser;
 
+import edu.tcu.cs.hogwarts_artifacts_online.security.AuthenticationCache;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
+import edu.tcu.cs.hogwarts_artifacts_online.system.cache.CacheConfiguration;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
 import edu.tcu.cs.hogwarts_artifacts_online.system.exception.ObjectNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -18,42 +24,63 @@ public class UserService implements UserDetailsService {
 
     private PasswordEncoder passwordEncoder;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final AuthenticationCache authenticationCache;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthenticationCache authenticationCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authenticationCache = authenticationCache;
     }
 
     public List<HogwartsUser> findAll(){
         return this.userRepository.findAll();
     }
 
+    public MultiGet<HogwartsUser> findAllByIds(List<String> userIds){
+        return MultiGet.fetch(userIds, MultiGet::parseInteger, this.userRepository::findAllById, HogwartsUser::getId);
+    }
+
     public HogwartsUser findById(Integer userId){
         return this.userRepository.findById(userId)
                 .orElseThrow(()-> new ObjectNotFoundException("user", userId));
     }
 
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, allEntries = true)
     public HogwartsUser save(HogwartsUser newHogwartsUser){
         // We need to encode plain text password before saving to the DB! TO DO
+        if(this.userRepository.existsByUsername(newHogwartsUser.getUsername())){
+            throw new InvalidArgumentException("username " + newHogwartsUser.getUsername() + " is already taken.");
+        }
         newHogwartsUser.setPassword(this.passwordEncoder.encode(newHogwartsUser.getPassword()));
         return  this.userRepository.save(newHogwartsUser);
     }
 
+    // Evicts everything, the entry to drop is keyed by the old username
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, allEntries = true)
     public HogwartsUser update(Integer userId, HogwartsUser update){
         HogwartsUser oldHogwartsUser = this.userRepository.findById(userId)
                 .orElseThrow(()-> new ObjectNotFoundException("user", userId));
+        if(this.userRepository.existsByUsernameAndIdNot(update.getUsername(), userId)){
+            throw new InvalidArgumentException("username " + update.getUsername() + " is already taken.");
+        }
         oldHogwartsUser.setUsername(update.getUsername());
         oldHogwartsUser.setEnabled(update.isEnabled());
         oldHogwartsUser.setRoles(update.getRoles());
+        // Cached logins carry the old username, status and roles
+        this.authenticationCache.invalidateAll();
         return this.userRepository.save(oldHogwartsUser);
     }
 
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, allEntries = true)
     public void delete(Integer userId){
-        this.userRepository.findById(userId)
-                .orElseThrow(()-> new ObjectNotFoundException("user", userId));
-        this.userRepository.deleteById(userId);
+        if(this.userRepository.deleteUserById(userId) == 0){
+            throw new ObjectNotFoundException("user", userId);
+        }
+        this.authenticationCache.invalidateAll();
     }
 
     @Override
+    @Cacheable(CacheConfiguration.USERS)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return this.userRepository.findByUsername(username)//First, we need to find this user from database.
                 .map(hogwartsUser -> new MyUserPrincipal(hogwartsUser)) //If found, wrap the returned user instance in a MyUserPrincipal instance.
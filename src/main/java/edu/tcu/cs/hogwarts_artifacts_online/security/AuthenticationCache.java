@@ -0,0 +1,70 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.tcu.cs.hogwarts_artifacts_online.system.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Short-lived cache of successful username/password authentications. Entries are keyed by an HMAC of the
+ * credentials under a random per-process key, so neither the password nor an offline-crackable hash of it
+ * is ever kept in memory, and only the exact same credentials can hit an entry.
+ */
+@Component
+public class AuthenticationCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    private final Cache<String, Authentication> authentications;
+
+    public AuthenticationCache(@Value("${security.authentication-cache.ttl}") Duration ttl,
+                               @Value("${security.authentication-cache.maximum-size}") long maximumSize) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.authentications = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public Authentication get(String username, String password) {
+        return this.authentications.getIfPresent(keyOf(username, password));
+    }
+
+    public void put(String username, String password, Authentication authentication) {
+        this.authentications.put(keyOf(username, password), authentication);
+    }
+
+    /**
+     * Drops every entry once the surrounding transaction commits, e.g. after a user's roles or status changed.
+     */
+    public void invalidateAll() {
+        AfterCommit.run(this.authentications::invalidateAll);
+    }
+
+    private String keyOf(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(this.key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0); // Keeps ("ab", "c") and ("a", "bc") apart
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " is not available", ex);
+        }
+    }
+
+}
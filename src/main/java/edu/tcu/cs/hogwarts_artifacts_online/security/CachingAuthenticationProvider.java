@@ -0,0 +1,61 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Username/password authentication that only runs the password hash the first time a pair of credentials is
+ * seen within the cache TTL. Failed attempts are never cached, so every wrong password still pays the full
+ * hash cost. Built by {@link SecurityConfiguration} as the filter chain's only provider, not declared as a bean.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final DaoAuthenticationProvider delegate;
+
+    private final AuthenticationCache authenticationCache;
+
+    public CachingAuthenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder, AuthenticationCache authenticationCache) {
+        this.delegate = new DaoAuthenticationProvider(userDetailsService);
+        this.delegate.setPasswordEncoder(passwordEncoder);
+        this.authenticationCache = authenticationCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return this.delegate.authenticate(authentication);
+        }
+        String password = credentials.toString();
+        Authentication cached = this.authenticationCache.get(username, password);
+        if (cached != null) {
+            // A fresh token per request, the cached one is shared between threads
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(cached.getPrincipal(), null, cached.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+        Authentication result;
+        try {
+            result = this.delegate.authenticate(authentication);
+        } catch (RejectedExecutionException ex) {
+            throw new AuthenticationServiceException("Too many concurrent logins, try again later.", ex);
+        }
+        this.authenticationCache.put(username, password, UsernamePasswordAuthenticationToken.authenticated(result.getPrincipal(), null, result.getAuthorities()));
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+}
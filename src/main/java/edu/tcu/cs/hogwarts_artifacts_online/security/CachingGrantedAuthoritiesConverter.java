@@ -0,0 +1,35 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Converts a Jwt's claims to authorities once per Jwt instance. Keys are weak and compared by identity, so an
+ * entry lives exactly as long as CachingJwtDecoder keeps handing out the same Jwt.
+ */
+public class CachingGrantedAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    private final Converter<Jwt, Collection<GrantedAuthority>> delegate;
+
+    private final Cache<Jwt, Collection<GrantedAuthority>> authorities;
+
+    public CachingGrantedAuthoritiesConverter(Converter<Jwt, Collection<GrantedAuthority>> delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.authorities = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        return this.authorities.get(jwt, key -> List.copyOf(this.delegate.convert(key)));
+    }
+
+}
@@ -0,0 +1,66 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Remembers tokens that already passed signature and claim validation, so a client sending the same bearer
+ * token on every request pays for the RSA verification once. Entries are keyed by a SHA-256 digest of the
+ * token and expire at the token's own exp; tokens without exp, and tokens that fail validation, are never cached.
+ * A hit returns the same Jwt instance, which CachingGrantedAuthoritiesConverter relies on.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> verifiedJwts;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.verifiedJwts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Jwt>creating((digest, jwt) -> timeToExpiry(jwt)))
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String digest = digestOf(token);
+        Jwt jwt = this.verifiedJwts.getIfPresent(digest);
+        if (jwt != null) {
+            return jwt;
+        }
+        jwt = this.delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            this.verifiedJwts.put(digest, jwt);
+        }
+        return jwt;
+    }
+
+    // A token inside the validator's clock skew is already past exp, it goes straight to eviction
+    private static Duration timeToExpiry(Jwt jwt) {
+        Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String digestOf(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+}
@@ -1,73 +1,76 @@
 package edu.tcu.cs.hogwarts_artifacts_online.security;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 
 @Configuration
 public class SecurityConfiguration {
 
-    private final RSAPublicKey publicKey;
-
-    private final RSAPrivateKey privateKey;
-
     @Value("${api.endpoint.base-url}")
     private String baseUrl;
 
+    @Value("${security.password-hashing.threads}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password-hashing.queue-capacity}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${security.password-hashing.max-wait}")
+    private Duration passwordHashingMaxWait;
+
+    @Value("${security.jwt-cache.maximum-size}")
+    private long jwtCacheMaximumSize;
+
     private final CustomBasicAuthenticationEntryPoint customBasicAuthenticationEntryPoint;
 
     private final CustomBearerTokenAuthenticationEntryPoint customBearerTokenAuthenticationEntryPoint;
 
     private final CustomBearerTokenAccessDeniedHandler customBearerTokenAccessDeniedHandler;
 
-    public SecurityConfiguration(CustomBasicAuthenticationEntryPoint customBasicAuthenticationEntryPoint, CustomBearerTokenAuthenticationEntryPoint customBearerTokenAuthenticationEntryPoint, CustomBearerTokenAccessDeniedHandler customBearerTokenAccessDeniedHandler) throws NoSuchAlgorithmException {
+    private final SigningKeys signingKeys;
+
+    public SecurityConfiguration(CustomBasicAuthenticationEntryPoint customBasicAuthenticationEntryPoint, CustomBearerTokenAuthenticationEntryPoint customBearerTokenAuthenticationEntryPoint, CustomBearerTokenAccessDeniedHandler customBearerTokenAccessDeniedHandler, SigningKeys signingKeys) {
         this.customBasicAuthenticationEntryPoint = customBasicAuthenticationEntryPoint;
         this.customBearerTokenAuthenticationEntryPoint = customBearerTokenAuthenticationEntryPoint;
         this.customBearerTokenAccessDeniedHandler = customBearerTokenAccessDeniedHandler;
-
-        // Generate a public/private key pair.
-        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-        keyPairGenerator.initialize(2048); // The generated key will have a size of 2048 bits
-        KeyPair keyPair = keyPairGenerator.generateKeyPair();
-        this.publicKey = (RSAPublicKey) keyPair.getPublic();
-        this.privateKey = (RSAPrivateKey) keyPair.getPrivate();
+        this.signingKeys = signingKeys; // Loaded from the shared key store, so tokens verify on every instance
     }
 
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, UserDetailsService userDetailsService, AuthenticationCache authenticationCache) throws Exception {
+        // An explicit manager without a parent, so a rejected password is not hashed a second time by the global one
+        AuthenticationManager authenticationManager = new ProviderManager(new CachingAuthenticationProvider(userDetailsService, passwordEncoder(), authenticationCache));
         return http
+                .authenticationManager(authenticationManager)
                 .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
                         .requestMatchers(HttpMethod.GET, this.baseUrl + "/artifacts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, this.baseUrl + "/users/**").hasAuthority("ROLE_admin") // Protect the endpoint
                         .requestMatchers(HttpMethod.POST, this.baseUrl + "/users").hasAuthority("ROLE_admin") // Protect the endpoint
                         .requestMatchers(HttpMethod.PUT, this.baseUrl + "/users/**").hasAuthority("ROLE_admin") // Protect the endpoint
                         .requestMatchers(HttpMethod.DELETE, this.baseUrl + "/users/**").hasAuthority("ROLE_admin") // Protect the endpoint
+                        .requestMatchers(HttpMethod.GET, this.baseUrl + "/caches/**").hasAuthority("ROLE_admin") // Protect the endpoint
+                        .requestMatchers(HttpMethod.POST, this.baseUrl + "/keys/**").hasAuthority("ROLE_admin") // Protect the endpoint
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll() // Public keys only
                         .requestMatchers("/h2-console/**").permitAll()
                         // Disallow everything else
                         .anyRequest().authenticated()  //Always a good idea to put this as last
@@ -77,7 +80,8 @@ public class SecurityConfiguration {
                 .cors(Customizer.withDefaults()) //serve per enable CORS
                 .httpBasic(httpBasic -> httpBasic.authenticationEntryPoint(this.customBasicAuthenticationEntryPoint))
                 .oauth2ResourceServer((oauth2) -> {
-                    oauth2.jwt(Customizer.withDefaults());
+                    // Its own manager, the chain's manager above only knows username/password tokens
+                    oauth2.jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager()));
                     oauth2.authenticationEntryPoint(this.customBearerTokenAuthenticationEntryPoint).accessDeniedHandler(this.customBearerTokenAccessDeniedHandler);
                 })
                 .sessionManagement(sessionManagement -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) //non mantiene la sessione per ogni richiesta
@@ -86,19 +90,26 @@ public class SecurityConfiguration {
 
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return  new BCryptPasswordEncoder(12);
+        // BCrypt(12) costs ~250ms of CPU, hash on a bounded pool so login storms cannot take every core
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), this.passwordHashingThreads, this.passwordHashingQueueCapacity, this.passwordHashingMaxWait);
     }
 
     @Bean
     public JwtEncoder jwtEncoder(){
-        JWK jwk = new RSAKey.Builder(this.publicKey).privateKey(this.privateKey).build(); //JSON Web Key
-        JWKSource<SecurityContext> jwkSet = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwkSet);
+        return new SigningKeyJwtEncoder(this.signingKeys); // Signs with the current key, its alg is security.jwt.algorithm
     }
 
     @Bean
     public JwtDecoder jwtDecoder(){
-        return NimbusJwtDecoder.withPublicKey(this.publicKey).build();
+        // The verification key is picked by the token's kid, so tokens signed before a rotation still verify.
+        // Clients resend the same token on every request, verify its signature only the first time.
+        return new CachingJwtDecoder(new NimbusJwtDecoder(new SigningKeyJwtProcessor(this.signingKeys)), this.jwtCacheMaximumSize);
+    }
+
+    private AuthenticationManager jwtAuthenticationManager(){
+        JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtDecoder());
+        jwtAuthenticationProvider.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        return new ProviderManager(jwtAuthenticationProvider);
     }
 
     @Bean
@@ -109,7 +120,7 @@ public class SecurityConfiguration {
         jwtGrantedAuthoritiesConverter.setAuthorityPrefix(""); //di default il prefisso è "SCOPE_" e quindi poi avremo "SCOPE_ROLE_admin"
 
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter);
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(new CachingGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter, this.jwtCacheMaximumSize));
         return jwtAuthenticationConverter;
     }
 
@@ -0,0 +1,69 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.nimbusds.jose.Algorithm;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.JWKGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+import java.util.Arrays;
+
+/**
+ * JWT signing algorithms selectable with security.jwt.algorithm. Signing cost differs by orders of magnitude,
+ * see JwtAlgorithmBenchmark. HS256 keys are symmetric and never published in the JWKS, so they only suit
+ * deployments where every verifier shares the key store.
+ */
+public enum SigningAlgorithm {
+
+    RS256(JWSAlgorithm.RS256) {
+        @Override
+        JWKGenerator<?> keyGenerator() {
+            return new RSAKeyGenerator(2048);
+        }
+    },
+    ES256(JWSAlgorithm.ES256) {
+        @Override
+        JWKGenerator<?> keyGenerator() {
+            return new ECKeyGenerator(Curve.P_256);
+        }
+    },
+    EdDSA(JWSAlgorithm.EdDSA) {
+        @Override
+        JWKGenerator<?> keyGenerator() {
+            return new OctetKeyPairGenerator(Curve.Ed25519);
+        }
+    },
+    HS256(JWSAlgorithm.HS256) {
+        @Override
+        JWKGenerator<?> keyGenerator() {
+            return new OctetSequenceKeyGenerator(256);
+        }
+    };
+
+    private final JWSAlgorithm jwsAlgorithm;
+
+    SigningAlgorithm(JWSAlgorithm jwsAlgorithm) {
+        this.jwsAlgorithm = jwsAlgorithm;
+    }
+
+    abstract JWKGenerator<?> keyGenerator();
+
+    public JWSAlgorithm getJwsAlgorithm() {
+        return jwsAlgorithm;
+    }
+
+    public String getName() {
+        return this.jwsAlgorithm.getName();
+    }
+
+    public static SigningAlgorithm from(Algorithm algorithm) {
+        return Arrays.stream(values())
+                .filter(value -> value.jwsAlgorithm.equals(algorithm))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported signing algorithm " + algorithm));
+    }
+
+}
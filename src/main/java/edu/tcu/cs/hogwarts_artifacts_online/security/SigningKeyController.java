@@ -0,0 +1,41 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import edu.tcu.cs.hogwarts_artifacts_online.system.Result;
+import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class SigningKeyController {
+
+    private final SigningKeys signingKeys;
+
+    public SigningKeyController(SigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    // Plain JWKS document, not wrapped in a Result, so standard JWT libraries can consume it
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> findPublicKeys(){
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(this.signingKeys.publicKeys().toJSONObject());
+    }
+
+    @PostMapping("${api.endpoint.base-url}/keys/rotate")
+    public Result rotateSigningKey() throws IOException, ParseException, JOSEException {
+        JWK current = this.signingKeys.rotate();
+        return new Result(true, StatusCode.SUCCESS, "Rotate Success", Map.of("kid", current.getKeyID()));
+    }
+
+}
@@ -0,0 +1,77 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.factories.DefaultJWSSignerFactory;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Signs with the current key of SigningKeys, whatever its algorithm. The alg and kid headers always come from
+ * that key, a JwsHeader in the parameters is ignored. Used instead of NimbusJwtEncoder, which cannot select
+ * an Ed25519 key.
+ */
+public class SigningKeyJwtEncoder implements JwtEncoder {
+
+    private static final DefaultJWSSignerFactory SIGNER_FACTORY = new DefaultJWSSignerFactory();
+
+    private final SigningKeys signingKeys;
+
+    // Signers are thread-safe and some precompute key material, build one per key
+    private final ConcurrentMap<String, JWSSigner> signers = new ConcurrentHashMap<>();
+
+    public SigningKeyJwtEncoder(SigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        JWK jwk = this.signingKeys.current();
+        // A key parsed from the key store carries a plain Algorithm, not a JWSAlgorithm
+        JWSHeader header = new JWSHeader.Builder(SigningAlgorithm.from(jwk.getAlgorithm()).getJwsAlgorithm())
+                .type(JOSEObjectType.JWT)
+                .keyID(jwk.getKeyID())
+                .build();
+        JwtClaimsSet claims = parameters.getClaims();
+        SignedJWT signedJwt = new SignedJWT(header, toJwtClaimsSet(claims));
+        try {
+            signedJwt.sign(this.signers.computeIfAbsent(jwk.getKeyID(), kid -> createSigner(jwk)));
+        } catch (JOSEException ex) {
+            throw new JwtEncodingException("An error occurred while attempting to encode the Jwt: " + ex.getMessage(), ex);
+        }
+        return new Jwt(signedJwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(), header.toJSONObject(), claims.getClaims());
+    }
+
+    private static JWSSigner createSigner(JWK jwk) {
+        try {
+            return SIGNER_FACTORY.createJWSSigner(jwk);
+        } catch (JOSEException ex) {
+            throw new JwtEncodingException("Cannot sign with key '" + jwk.getKeyID() + "': " + ex.getMessage(), ex);
+        }
+    }
+
+    private static JWTClaimsSet toJwtClaimsSet(JwtClaimsSet claims) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+        for (Map.Entry<String, Object> claim : claims.getClaims().entrySet()) {
+            Object value = claim.getValue();
+            // exp, iat and nbf must be Dates for Nimbus to write them as epoch seconds
+            builder.claim(claim.getKey(), value instanceof Instant instant ? Date.from(instant) : value);
+        }
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,106 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.EncryptedJWT;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.JWTProcessor;
+
+import java.text.ParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Verifies a token's signature with the SigningKeys key named by its kid. The header alg must equal the alg the
+ * key was generated for, so a public RSA key can never be used as an HMAC secret. Claims are left to
+ * NimbusJwtDecoder's validators. Used instead of DefaultJWTProcessor, which cannot select an Ed25519 key.
+ */
+public class SigningKeyJwtProcessor implements JWTProcessor<SecurityContext> {
+
+    private final SigningKeys signingKeys;
+
+    private final ConcurrentMap<String, JWSVerifier> verifiers = new ConcurrentHashMap<>();
+
+    public SigningKeyJwtProcessor(SigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    @Override
+    public JWTClaimsSet process(String jwtString, SecurityContext context) throws ParseException, BadJOSEException, JOSEException {
+        return process(SignedJWT.parse(jwtString), context);
+    }
+
+    @Override
+    public JWTClaimsSet process(PlainJWT plainJwt, SecurityContext context) throws BadJOSEException {
+        throw new BadJOSEException("Unsigned JWTs are rejected");
+    }
+
+    @Override
+    public JWTClaimsSet process(EncryptedJWT encryptedJwt, SecurityContext context) throws BadJOSEException {
+        throw new BadJOSEException("Encrypted JWTs are not supported");
+    }
+
+    @Override
+    public JWTClaimsSet process(JWT jwt, SecurityContext context) throws BadJOSEException, JOSEException {
+        if (jwt instanceof SignedJWT signedJwt) {
+            return process(signedJwt, context);
+        }
+        throw new BadJOSEException("Only signed JWTs are accepted");
+    }
+
+    @Override
+    public JWTClaimsSet process(SignedJWT signedJwt, SecurityContext context) throws BadJOSEException, JOSEException {
+        JWSHeader header = signedJwt.getHeader();
+        JWK jwk = this.signingKeys.find(header.getKeyID());
+        if (jwk == null) {
+            throw new BadJOSEException("Signed JWT rejected: Another algorithm expected, or no matching key(s) found");
+        }
+        if (!header.getAlgorithm().equals(jwk.getAlgorithm())) {
+            throw new BadJOSEException("Signed JWT rejected: Algorithm " + header.getAlgorithm() + " does not match key '" + jwk.getKeyID() + "'");
+        }
+        if (!signedJwt.verify(this.verifiers.computeIfAbsent(jwk.getKeyID(), kid -> createVerifier(jwk)))) {
+            throw new BadJOSEException("Signed JWT rejected: Invalid signature");
+        }
+        try {
+            return signedJwt.getJWTClaimsSet();
+        } catch (ParseException ex) {
+            throw new BadJOSEException("Invalid JWT claims set: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static JWSVerifier createVerifier(JWK jwk) {
+        try {
+            if (jwk instanceof RSAKey rsaKey) {
+                return new RSASSAVerifier(rsaKey);
+            }
+            if (jwk instanceof ECKey ecKey) {
+                return new ECDSAVerifier(ecKey);
+            }
+            if (jwk instanceof OctetKeyPair octetKeyPair) {
+                return new Ed25519Verifier(octetKeyPair.toPublicJWK());
+            }
+            if (jwk instanceof OctetSequenceKey octetSequenceKey) {
+                return new MACVerifier(octetSequenceKey);
+            }
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Cannot verify with key '" + jwk.getKeyID() + "'", ex);
+        }
+        throw new IllegalStateException("Unsupported key type " + jwk.getKeyType() + " for key '" + jwk.getKeyID() + "'");
+    }
+
+}
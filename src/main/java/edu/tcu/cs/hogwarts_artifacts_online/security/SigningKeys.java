@@ -0,0 +1,207 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JWT signing keys kept in a JWK set file, so every instance pointed at the same file signs and verifies with
+ * the same keys and tokens survive restarts. The last key in the file signs new tokens, the others only verify
+ * tokens issued before a rotation. The file is created with one key on first start, and a key for
+ * security.jwt.algorithm is added when the configured algorithm no longer matches the current key. Creating
+ * and rotating hold an exclusive lock on a sidecar file across the read and the write, so instances starting or
+ * rotating at the same time never overwrite each other's keys.
+ */
+@Component
+public class SigningKeys {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SigningKeys.class);
+
+    // A JVM may not hold two file locks on the same file, instances in one JVM queue here first
+    private static final ConcurrentMap<Path, Object> LOCAL_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path keyStore;
+
+    private final Path lockFile;
+
+    private final Object localLock;
+
+    private final int maxKeys;
+
+    private final SigningAlgorithm algorithm;
+
+    private volatile JWKSet keys;
+
+    private volatile FileTime loadedVersion;
+
+    public SigningKeys(@Value("${security.jwt.key-store}") Path keyStore,
+                       @Value("${security.jwt.max-keys}") int maxKeys,
+                       @Value("${security.jwt.algorithm}") SigningAlgorithm algorithm) throws IOException, ParseException, JOSEException {
+        this.keyStore = keyStore;
+        this.maxKeys = maxKeys;
+        this.algorithm = algorithm;
+        this.lockFile = keyStore.resolveSibling(keyStore.getFileName() + ".lock");
+        this.localLock = LOCAL_LOCKS.computeIfAbsent(this.lockFile.toAbsolutePath().normalize(), path -> new Object());
+        Files.createDirectories(this.lockFile.toAbsolutePath().getParent());
+        synchronized (this.localLock) {
+            try (FileChannel channel = openLockFile(); FileLock ignored = channel.lock()) {
+                // Checked under the lock, whoever gets it first creates the file and the others load it
+                if (Files.exists(keyStore)) {
+                    load();
+                    if (!algorithm.getJwsAlgorithm().equals(latest().getAlgorithm())) {
+                        addKey(); // Older keys stay to verify tokens issued with the previous algorithm
+                    }
+                } else {
+                    write(new JWKSet(generate()));
+                    LOGGER.info("Created signing key store {}", keyStore.toAbsolutePath());
+                }
+            }
+        }
+    }
+
+    /**
+     * The key new tokens are signed with. The file is re-read first if it changed, so once any instance rotates,
+     * every instance signs with the new key.
+     */
+    public JWK current() {
+        reloadIfChanged();
+        return latest();
+    }
+
+    public SigningAlgorithm currentAlgorithm() {
+        return SigningAlgorithm.from(current().getAlgorithm());
+    }
+
+    /**
+     * Public halves of every key that may still verify a token, in JWKS form. HS256 keys have no public half.
+     */
+    public JWKSet publicKeys() {
+        return this.keys.toPublicJWKSet();
+    }
+
+    /**
+     * Adds a new signing key and drops the oldest ones beyond security.jwt.max-keys. Tokens signed with a dropped
+     * key stop verifying, so keep max-keys * rotation interval above the token lifetime.
+     */
+    public synchronized JWK rotate() throws IOException, ParseException, JOSEException {
+        synchronized (this.localLock) {
+            try (FileChannel channel = openLockFile(); FileLock ignored = channel.lock()) {
+                load(); // Another instance may have rotated since
+                return addKey();
+            }
+        }
+    }
+
+    // Callers hold the key store lock and have just loaded the file
+    private JWK addKey() throws IOException, JOSEException {
+        List<JWK> rotated = new ArrayList<>(this.keys.getKeys());
+        rotated.add(generate());
+        while (rotated.size() > this.maxKeys) {
+            rotated.remove(0);
+        }
+        write(new JWKSet(rotated));
+        LOGGER.info("Rotated signing key, new kid '{}', {} key(s) kept", latest().getKeyID(), rotated.size());
+        return latest();
+    }
+
+    private JWK latest() {
+        List<JWK> all = this.keys.getKeys();
+        return all.get(all.size() - 1);
+    }
+
+    /**
+     * The key with the given kid, or null. An unknown kid usually means another instance rotated, so the file
+     * is re-read once before giving up.
+     */
+    public JWK find(String kid) {
+        JWK found = this.keys.getKeyByKeyId(kid);
+        if (found == null && kid != null && reloadIfChanged()) {
+            found = this.keys.getKeyByKeyId(kid);
+        }
+        return found;
+    }
+
+    // Every signature checks the file's modified time, only a change takes the lock
+    private boolean reloadIfChanged() {
+        try {
+            if (Files.getLastModifiedTime(this.keyStore).equals(this.loadedVersion)) {
+                return false;
+            }
+            synchronized (this) {
+                if (!Files.getLastModifiedTime(this.keyStore).equals(this.loadedVersion)) {
+                    load();
+                }
+            }
+            return true;
+        } catch (IOException | ParseException ex) {
+            LOGGER.warn("Could not reload signing key store {}", this.keyStore, ex);
+            return false;
+        }
+    }
+
+    private void load() throws IOException, ParseException {
+        FileTime version = Files.getLastModifiedTime(this.keyStore);
+        JWKSet loaded = JWKSet.parse(Files.readString(this.keyStore, StandardCharsets.UTF_8));
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("Signing key store " + this.keyStore + " contains no keys");
+        }
+        this.keys = loaded;
+        this.loadedVersion = version;
+    }
+
+    // Written to a sibling file and moved into place, so a reader never sees half a key set
+    private void write(JWKSet jwkSet) throws IOException {
+        Path directory = this.keyStore.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "jwks", ".tmp");
+        try {
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------")); // Holds private keys
+            }
+            Files.writeString(temp, jwkSet.toString(false), StandardCharsets.UTF_8);
+            Files.move(temp, this.keyStore, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        this.keys = jwkSet;
+        this.loadedVersion = Files.getLastModifiedTime(this.keyStore);
+    }
+
+    private FileChannel openLockFile() throws IOException {
+        return FileChannel.open(this.lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private JWK generate() throws JOSEException {
+        return this.algorithm.keyGenerator()
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(this.algorithm.getJwsAlgorithm())
+                .keyIDFromThumbprint(true)
+                .issueTime(new Date())
+                .generate();
+    }
+
+}
@@ -0,0 +1,198 @@
+package edu.tcu.cs.hogwarts_artifacts_online.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Radix tree from lower-case keys to suggestions, where every node also keeps the best MAX_COMPLETIONS
+ * suggestions of its whole subtree. A lookup only walks the prefix and copies that list, so its cost depends on
+ * the prefix length and not on how many names are stored. Adding or removing a key recomputes the lists on its
+ * path from the children's lists. A suggestion may be stored under several keys, lists hold it at most once.
+ * Not thread-safe, SuggestionIndex guards it.
+ */
+final class CompletionTrie {
+
+    static final int MAX_COMPLETIONS = 10;
+
+    static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Suggestion::id);
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private final Node root = new Node("");
+
+    void add(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = this.root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                node.addChild(leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // The key leaves this edge midway, split it
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                middle.top = child.top;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        node.terminals.add(suggestion);
+        for (int p = path.size() - 1; p >= 0; p--) {
+            path.get(p).recomputeTop();
+        }
+    }
+
+    boolean remove(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = this.root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0 || !key.startsWith(node.children[index].label, i)) {
+                return false;
+            }
+            node = node.children[index];
+            path.add(node);
+            i += node.label.length();
+        }
+        if (!node.terminals.remove(suggestion)) {
+            return false;
+        }
+        for (int p = path.size() - 1; p > 0; p--) {
+            Node current = path.get(p);
+            Node parent = path.get(p - 1);
+            if (current.terminals.isEmpty() && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.terminals.isEmpty() && current.children.length == 1) {
+                // A pass-through node, fold it into its only child whose list is already right
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[parent.childIndex(only.label.charAt(0))] = only;
+            } else {
+                current.recomputeTop();
+            }
+        }
+        this.root.recomputeTop();
+        return true;
+    }
+
+    List<Suggestion> complete(String prefix, int limit) {
+        Node node = this.root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            node = node.children[index];
+            int common = commonPrefixLength(node.label, prefix, i);
+            if (common < node.label.length() && i + common < prefix.length()) {
+                return List.of(); // Diverges inside the edge
+            }
+            i += common;
+        }
+        return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String label;
+
+        // Children sorted by the first character of their label, no two share one
+        private Node[] children = NO_CHILDREN;
+
+        private final List<Suggestion> terminals = new ArrayList<>(1);
+
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char first) {
+            int low = 0;
+            int high = this.children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = this.children[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void addChild(Node child) {
+            int insertion = -(childIndex(child.label.charAt(0)) + 1);
+            Node[] grown = new Node[this.children.length + 1];
+            System.arraycopy(this.children, 0, grown, 0, insertion);
+            grown[insertion] = child;
+            System.arraycopy(this.children, insertion, grown, insertion + 1, this.children.length - insertion);
+            this.children = grown;
+        }
+
+        void removeChild(Node child) {
+            int index = childIndex(child.label.charAt(0));
+            Node[] shrunk = new Node[this.children.length - 1];
+            System.arraycopy(this.children, 0, shrunk, 0, index);
+            System.arraycopy(this.children, index + 1, shrunk, index, this.children.length - index - 1);
+            this.children = shrunk;
+        }
+
+        /**
+         * Every entry of the true top list of this subtree is in the top list of the child holding it.
+         */
+        void recomputeTop() {
+            List<Suggestion> candidates = new ArrayList<>(this.terminals);
+            for (Node child : this.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            List<Suggestion> best = new ArrayList<>(Math.min(MAX_COMPLETIONS, candidates.size()));
+            for (Suggestion candidate : candidates) {
+                if (best.size() == MAX_COMPLETIONS) {
+                    break;
+                }
+                if (best.isEmpty() || best.get(best.size() - 1) != candidate) { // Sorted, so copies are adjacent
+                    best.add(candidate);
+                }
+            }
+            this.top = best.toArray(NO_SUGGESTIONS);
+        }
+    }
+
+}
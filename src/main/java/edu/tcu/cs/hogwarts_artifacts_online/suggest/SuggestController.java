@@ -0,0 +1,29 @@
+package edu.tcu.cs.hogwarts_artifacts_online.suggest;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.Result;
+import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("${api.endpoint.base-url}/suggest")
+public class SuggestController {
+
+    private final SuggestionIndex suggestionIndex;
+
+    public SuggestController(SuggestionIndex suggestionIndex) {
+        this.suggestionIndex = suggestionIndex;
+    }
+
+    @GetMapping
+    public Result suggest(@RequestParam String prefix, @RequestParam(defaultValue = "10") int k){
+        if(k < 1 || k > SuggestionIndex.MAX_SUGGESTIONS){
+            throw new InvalidArgumentException("k must be between 1 and " + SuggestionIndex.MAX_SUGGESTIONS + ".");
+        }
+        Suggestions suggestions = this.suggestionIndex.suggest(prefix, k);
+        return new Result(true, StatusCode.SUCCESS, "Suggest Success", suggestions);
+    }
+}
@@ -0,0 +1,10 @@
+package edu.tcu.cs.hogwarts_artifacts_online.suggest;
+
+/**
+ * One completion. weight is the popularity it is ranked by: the artifact count of a wizard, and the number of
+ * times an artifact was viewed rounded down to a power of two.
+ */
+public record Suggestion(String id,
+                         String name,
+                         long weight) {
+}
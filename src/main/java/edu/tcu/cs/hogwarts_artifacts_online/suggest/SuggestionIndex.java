@@ -0,0 +1,214 @@
+package edu.tcu.cs.hogwarts_artifacts_online.suggest;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactText;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.ArtifactIds;
+import edu.tcu.cs.hogwarts_artifacts_online.system.AfterCommit;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.LeaderboardChange;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.LeaderboardEntry;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix completions over artifact and wizard names, kept in memory. Every name is stored under each of its
+ * words, so "wand" completes "Elder Wand". Artifacts are updated by the write paths in ArtifactService and
+ * ArtifactBatchService, wizards follow the WizardLeaderboard. Every update is applied after its transaction
+ * commits. Lookups share a read lock, updates take the write lock.
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    public static final int MAX_SUGGESTIONS = CompletionTrie.MAX_COMPLETIONS;
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ArtifactRepository artifactRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final CompletionTrie artifacts = new CompletionTrie();
+
+    private final CompletionTrie wizards = new CompletionTrie();
+
+    // What each artifact is stored as, so it can be taken out again
+    private final Map<Long, Suggestion> artifactSuggestions = new HashMap<>();
+
+    private final Map<Long, AtomicLong> artifactViews = new ConcurrentHashMap<>();
+
+    // Artifacts written while load() runs, the pages it reads afterwards may already be stale for them
+    private Set<Long> updatedDuringLoad;
+
+    public SuggestionIndex(ArtifactRepository artifactRepository, WizardLeaderboard wizardLeaderboard) {
+        this.artifactRepository = artifactRepository;
+        wizardLeaderboard.addListener(this::onLeaderboardChange);
+    }
+
+    /**
+     * Adds every artifact once the data initializers have run. Wizards arrive through the leaderboard.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        write(() -> this.updatedDuringLoad = new HashSet<>());
+        try {
+            List<ArtifactText> page = this.artifactRepository.findTexts(Limit.of(LOAD_PAGE_SIZE));
+            while (!page.isEmpty()) {
+                List<ArtifactText> loaded = page;
+                write(() -> loaded.stream()
+                        .filter(text -> !this.updatedDuringLoad.contains(text.id()))
+                        .forEach(text -> replaceArtifact(text.id(), text.name())));
+                page = this.artifactRepository.findTextsAfter(page.get(page.size() - 1).id(), Limit.of(LOAD_PAGE_SIZE));
+            }
+        } finally {
+            write(() -> this.updatedDuringLoad = null);
+        }
+        LOGGER.info("Loaded {} artifact names for suggestions in {} ms", artifactCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void putArtifact(Long artifactId, String name) {
+        AfterCommit.run(() -> write(() -> {
+            markUpdated(artifactId);
+            replaceArtifact(artifactId, name);
+        }));
+    }
+
+    public void removeArtifact(Long artifactId) {
+        AfterCommit.run(() -> write(() -> {
+            markUpdated(artifactId);
+            this.artifactViews.remove(artifactId);
+            Suggestion previous = this.artifactSuggestions.remove(artifactId);
+            if (previous != null) {
+                keys(previous.name()).forEach(key -> this.artifacts.remove(key, previous));
+            }
+        }));
+    }
+
+    /**
+     * Counts a view of the artifact. The trie is only touched when the count reaches the next power of two,
+     * so a popular artifact does not take the write lock on every view.
+     */
+    public void recordArtifactView(Long artifactId) {
+        long views = this.artifactViews.computeIfAbsent(artifactId, id -> new AtomicLong()).incrementAndGet();
+        if (Long.bitCount(views) == 1) {
+            write(() -> {
+                Suggestion previous = this.artifactSuggestions.get(artifactId);
+                if (previous != null) {
+                    replaceArtifact(artifactId, previous.name());
+                }
+            });
+        }
+    }
+
+    /**
+     * The best completions of the prefix, most popular first. The cost depends on the prefix length and
+     * the limit, not on how many names are indexed.
+     */
+    public Suggestions suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        this.lock.readLock().lock();
+        try {
+            return new Suggestions(this.artifacts.complete(normalized, limit), this.wizards.complete(normalized, limit));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void onLeaderboardChange(LeaderboardChange change) {
+        write(() -> {
+            if (change.previous() != null) {
+                Suggestion previous = wizardSuggestion(change.previous());
+                keys(previous.name()).forEach(key -> this.wizards.remove(key, previous));
+            }
+            if (change.current() != null) {
+                Suggestion current = wizardSuggestion(change.current());
+                keys(current.name()).forEach(key -> this.wizards.add(key, current));
+            }
+        });
+    }
+
+    // Called with the write lock held
+    private void replaceArtifact(Long artifactId, String name) {
+        Suggestion previous = this.artifactSuggestions.get(artifactId);
+        Suggestion current = new Suggestion(ArtifactIds.toString(artifactId), name, weight(artifactId));
+        if (current.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            keys(previous.name()).forEach(key -> this.artifacts.remove(key, previous));
+        }
+        keys(name).forEach(key -> this.artifacts.add(key, current));
+        this.artifactSuggestions.put(artifactId, current);
+    }
+
+    private void markUpdated(Long artifactId) {
+        if (this.updatedDuringLoad != null) {
+            this.updatedDuringLoad.add(artifactId);
+        }
+    }
+
+    private long weight(Long artifactId) {
+        AtomicLong views = this.artifactViews.get(artifactId);
+        return views == null ? 0 : Long.highestOneBit(views.get());
+    }
+
+    private int artifactCount() {
+        this.lock.readLock().lock();
+        try {
+            return this.artifactSuggestions.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        this.lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private static Suggestion wizardSuggestion(LeaderboardEntry entry) {
+        return new Suggestion(String.valueOf(entry.wizardId()), entry.name(), entry.numberOfArtifacts());
+    }
+
+    /**
+     * The normalized name from the start of each word on. Duplicates are dropped, a name is stored once per key.
+     */
+    static Set<String> keys(String name) {
+        String normalized = normalize(name);
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+}
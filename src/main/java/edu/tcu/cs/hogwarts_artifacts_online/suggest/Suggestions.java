@@ -0,0 +1,7 @@
+package edu.tcu.cs.hogwarts_artifacts_online.suggest;
+
+import java.util.List;
+
+public record Suggestions(List<Suggestion> artifacts,
+                          List<Suggestion> wizards) {
+}
@@ -0,0 +1,39 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated listing. The nextCursor is opaque to the client,
+ * it is null when there are no more rows to read.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    /**
+     * Builds a page from a window that was fetched with limit + 1 rows, the extra row only tells us
+     * whether another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> window, int limit, Function<T, String> keyExtractor) {
+        if (window.size() <= limit) {
+            return new CursorPage<>(window, null);
+        }
+        List<T> content = window.subList(0, limit);
+        return new CursorPage<>(content, encode(keyExtractor.apply(content.get(limit - 1))));
+    }
+
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidArgumentException("cursor " + cursor + " is malformed.");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The rows found for a list of requested ids, in the order the ids were requested, and the requested ids
+ * that matched nothing. An id that cannot be parsed is reported missing rather than failing the call,
+ * a repeated id is answered once.
+ */
+public record MultiGet<T>(List<T> content, List<String> missingIds) {
+
+    public static final int MAX_IDS = 1000;
+
+    // Ids bound into one IN list, so a long request does not turn into one oversized statement
+    static final int CHUNK_SIZE = 200;
+
+    /**
+     * Resolves the ids with one IN query per CHUNK_SIZE keys. The finder returns the rows matching a chunk
+     * in any order, the keyExtractor gives the key of each row.
+     */
+    public static <K, T> MultiGet<T> fetch(List<String> ids, Function<String, Optional<K>> parser,
+                                           Function<List<K>, List<T>> finder, Function<T, K> keyExtractor) {
+        if (ids.size() > MAX_IDS) {
+            throw new InvalidArgumentException("at most " + MAX_IDS + " ids can be requested at once.");
+        }
+        Map<String, K> keys = new LinkedHashMap<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            parser.apply(id).ifPresent(key -> keys.put(id, key));
+        }
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys.values()));
+        Map<K, T> rows = new HashMap<>(distinctKeys.size() * 2);
+        for (int from = 0; from < distinctKeys.size(); from += CHUNK_SIZE) {
+            List<K> chunk = distinctKeys.subList(from, Math.min(from + CHUNK_SIZE, distinctKeys.size()));
+            finder.apply(chunk).forEach(row -> rows.put(keyExtractor.apply(row), row));
+        }
+
+        List<T> content = new ArrayList<>(rows.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            K key = keys.get(id);
+            T row = key == null ? null : rows.get(key);
+            if (row == null) {
+                missingIds.add(id);
+            } else {
+                content.add(row);
+            }
+        }
+        return new MultiGet<>(content, missingIds);
+    }
+
+    public static Optional<Integer> parseInteger(String id) {
+        try {
+            return Optional.of(Integer.valueOf(id));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+}
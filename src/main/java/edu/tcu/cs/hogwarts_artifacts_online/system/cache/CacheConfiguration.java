@@ -0,0 +1,35 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String ARTIFACTS = "artifacts";
+
+    public static final String WIZARDS = "wizards";
+
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.artifacts.spec}") String artifactsSpec,
+                                     @Value("${cache.wizards.spec}") String wizardsSpec,
+                                     @Value("${cache.users.spec}") String usersSpec){
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.registerCustomCache(ARTIFACTS, Caffeine.from(artifactsSpec).recordStats().build());
+        caffeineCacheManager.registerCustomCache(WIZARDS, Caffeine.from(wizardsSpec).recordStats().build());
+        caffeineCacheManager.registerCustomCache(USERS, Caffeine.from(usersSpec).recordStats().build());
+        // Puts and evictions wait for the surrounding transaction to commit, so a concurrent reader
+        // cannot put the pre-update row back into the cache between the eviction and the commit.
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+}
@@ -0,0 +1,36 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.tcu.cs.hogwarts_artifacts_online.system.Result;
+import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("${api.endpoint.base-url}/caches")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping
+    public Result findCacheStats(){
+        List<CacheStatsDto> cacheStatsDtos = this.cacheManager.getCacheNames().stream()
+                .map(name -> {
+                    Cache<?, ?> cache = (Cache<?, ?>) this.cacheManager.getCache(name).getNativeCache();
+                    CacheStats stats = cache.stats();
+                    return new CacheStatsDto(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+                })
+                .toList();
+        return new Result(true, StatusCode.SUCCESS, "Find Cache Stats Success", cacheStatsDtos);
+    }
+
+}
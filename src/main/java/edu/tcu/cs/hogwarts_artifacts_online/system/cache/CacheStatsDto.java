@@ -0,0 +1,9 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.cache;
+
+public record CacheStatsDto(String name,
+                            long size,
+                            long hitCount,
+                            long missCount,
+                            double hitRate,
+                            long evictionCount) {
+}
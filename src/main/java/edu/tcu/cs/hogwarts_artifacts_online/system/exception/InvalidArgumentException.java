@@ -0,0 +1,8 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.exception;
+
+public class InvalidArgumentException extends RuntimeException{
+
+    public InvalidArgumentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates ids from a database sequence through Hibernate's pooled optimizer: one sequence call hands out
+ * a whole block of ids, so inserts do not need a round trip each and can be sent as JDBC batches.
+ * The sequence is named after the entity's table with a _seq suffix, the block size is set by the
+ * hogwarts.id.allocation-size Hibernate property.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+}
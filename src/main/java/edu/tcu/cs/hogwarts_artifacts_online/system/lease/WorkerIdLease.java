@@ -0,0 +1,60 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.lease;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * One row per (datacenter, worker) pair currently claimed by a running instance.
+ * slot = datacenterId * 32 + workerId.
+ */
+@Entity
+public class WorkerIdLease implements Serializable {
+
+    @Id
+    private Integer slot;
+
+    private String instanceId;
+
+    private Instant expiresAt;
+
+    // Upper bound (epoch millis) of the id timestamps generated under this lease, a new holder starts past it
+    private Long lastTimestamp;
+
+    public WorkerIdLease() {
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public void setLastTimestamp(Long lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
+}
@@ -0,0 +1,40 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.lease;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WorkerIdLeaseRepository extends JpaRepository<WorkerIdLease, Integer> {
+
+    // Expiry is set and compared with the database clock (instant is CURRENT_TIMESTAMP), never an instance's own clock
+
+    @Query("select l.slot from WorkerIdLease l where l.expiresAt > instant")
+    List<Integer> findActiveSlots();
+
+    @Query("select l.lastTimestamp from WorkerIdLease l where l.slot = :slot")
+    Optional<Long> findLastTimestamp(Integer slot);
+
+    // A plain INSERT, so a slot that is already held fails on the primary key instead of being overwritten
+    @Modifying
+    @Query("insert into WorkerIdLease (slot, instanceId, expiresAt, lastTimestamp) values (:slot, :instanceId, instant + :ttlSeconds second, :lastTimestamp)")
+    int insert(Integer slot, String instanceId, long ttlSeconds, long lastTimestamp);
+
+    @Modifying
+    @Query("update WorkerIdLease l set l.instanceId = :instanceId, l.expiresAt = instant + :ttlSeconds second, l.lastTimestamp = :lastTimestamp "
+            + "where l.slot = :slot and l.expiresAt <= instant")
+    int takeOverExpired(Integer slot, String instanceId, long ttlSeconds, long lastTimestamp);
+
+    @Modifying
+    @Query("update WorkerIdLease l set l.expiresAt = instant + :ttlSeconds second, l.lastTimestamp = :lastTimestamp "
+            + "where l.slot = :slot and l.instanceId = :instanceId")
+    int renew(Integer slot, String instanceId, long ttlSeconds, long lastTimestamp);
+
+    // Expires the lease right away but keeps the row, the next holder must start past its lastTimestamp
+    @Modifying
+    @Query("update WorkerIdLease l set l.expiresAt = instant, l.lastTimestamp = :lastTimestamp where l.slot = :slot and l.instanceId = :instanceId")
+    int release(Integer slot, String instanceId, long lastTimestamp);
+
+}
@@ -0,0 +1,188 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.lease;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.IdWorker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Hands every running instance its own (datacenter, worker) pair for IdWorker. A slot is claimed from the
+ * worker_id_lease table on startup, renewed by a heartbeat and released on shutdown. A slot whose lease
+ * expired, e.g. because its instance crashed, can be taken over by another instance.
+ * <p>
+ * Lease expiry is computed and compared by the database, so clock skew between instances does not matter.
+ * The IdWorker is fenced on this instance's monotonic clock: it may only use a slot for ttl after the last
+ * claim or renewal started, which ends no later than the lease stored in the database. When the slot turns
+ * out to belong to another instance, the IdWorker stops at once and is moved to a free slot.
+ * <p>
+ * Id timestamps still come from each instance's own clock, so every lease row also records lastTimestamp: an
+ * upper bound of the timestamps its holder may use, the clock at the last claim or renewal plus ttl (enforced by
+ * the IdWorker), or the actual last one on release. An instance that takes over a slot refuses ids until its
+ * clock has passed that value, so a clock that lags the previous holder's cannot reissue its ids.
+ */
+@Service
+public class WorkerIdLeaseService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkerIdLeaseService.class);
+
+    private static final int WORKERS_PER_DATACENTER = 32; // IdWorker uses 5 bits for the worker id
+
+    private static final int SLOTS = WORKERS_PER_DATACENTER * 32; // and 5 bits for the datacenter id
+
+    private final WorkerIdLeaseRepository workerIdLeaseRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration ttl;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // Refuses ids until a slot is claimed
+    private final IdWorker idWorker = new IdWorker();
+
+    private volatile Integer slot;
+
+    private volatile boolean released;
+
+    public WorkerIdLeaseService(WorkerIdLeaseRepository workerIdLeaseRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${idworker.lease.ttl}") Duration ttl) {
+        this.workerIdLeaseRepository = workerIdLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+    }
+
+    /**
+     * The IdWorker that generates ids with this instance's slot, claiming one first if needed.
+     */
+    public IdWorker getIdWorker() {
+        claim();
+        return this.idWorker;
+    }
+
+    public synchronized int claim() {
+        if (this.slot != null) {
+            return this.slot;
+        }
+        Set<Integer> activeSlots = new HashSet<>(this.workerIdLeaseRepository.findActiveSlots());
+        for (int candidate = 0; candidate < SLOTS; candidate++) {
+            if (activeSlots.contains(candidate)) {
+                continue;
+            }
+            long startedNanos = System.nanoTime();
+            long maxTimestamp = maxTimestamp();
+            Long previousTimestamp = tryClaim(candidate, maxTimestamp);
+            if (previousTimestamp != null) {
+                this.idWorker.skipTo(previousTimestamp); // Before the slot is usable, past the previous holder's ids
+                this.slot = candidate;
+                assign(candidate, startedNanos, Math.max(previousTimestamp, maxTimestamp));
+                LOGGER.info("Claimed worker id slot {} (datacenter {}, worker {})", candidate, getDatacenterId(), getWorkerId());
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("All " + SLOTS + " worker id slots are leased by other instances.");
+    }
+
+    public long getDatacenterId() {
+        return claim() / WORKERS_PER_DATACENTER;
+    }
+
+    public long getWorkerId() {
+        return claim() % WORKERS_PER_DATACENTER;
+    }
+
+    @Scheduled(fixedDelayString = "${idworker.lease.heartbeat-interval}")
+    public synchronized void renew() {
+        if (this.released) {
+            return;
+        }
+        Integer currentSlot = this.slot;
+        if (currentSlot == null) {
+            claimReplacement(); // An earlier heartbeat lost the slot and found no free one
+            return;
+        }
+        long startedNanos = System.nanoTime();
+        long maxTimestamp = maxTimestamp();
+        Integer renewed = this.transactionTemplate.execute(status ->
+                this.workerIdLeaseRepository.renew(currentSlot, this.instanceId, this.ttl.toSeconds(), maxTimestamp));
+        if (renewed != null && renewed == 1) {
+            assign(currentSlot, startedNanos, maxTimestamp);
+            return;
+        }
+        // The lease expired before we could renew it, e.g. after a long GC pause. Take it back if nobody else did.
+        Long previousTimestamp = tryClaim(currentSlot, maxTimestamp);
+        if (previousTimestamp != null) {
+            assign(currentSlot, startedNanos, Math.max(previousTimestamp, maxTimestamp));
+            LOGGER.warn("Lease on worker id slot {} had expired and was re-acquired", currentSlot);
+            return;
+        }
+        // Another instance owns the slot now, stop generating ids with it before looking for another one
+        this.idWorker.revoke();
+        this.slot = null;
+        LOGGER.warn("Lease on worker id slot {} is now held by another instance, claiming a free slot", currentSlot);
+        claimReplacement();
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        this.released = true;
+        this.idWorker.revoke();
+        Integer currentSlot = this.slot;
+        if (currentSlot == null) {
+            return;
+        }
+        // The clock as well, in case an id was being generated while the IdWorker was revoked
+        long lastTimestamp = Math.max(this.idWorker.lastTimestamp(), System.currentTimeMillis());
+        this.transactionTemplate.executeWithoutResult(status ->
+                this.workerIdLeaseRepository.release(currentSlot, this.instanceId, lastTimestamp));
+        this.slot = null;
+    }
+
+    private void claimReplacement() {
+        try {
+            claim();
+        } catch (IllegalStateException ex) {
+            LOGGER.error("No free worker id slot, id generation stays disabled until one is claimed", ex);
+        }
+    }
+
+    private void assign(int leasedSlot, long startedNanos, long maxTimestamp) {
+        this.idWorker.assign(leasedSlot % WORKERS_PER_DATACENTER, leasedSlot / WORKERS_PER_DATACENTER, startedNanos + this.ttl.toNanos(), maxTimestamp);
+    }
+
+    // The highest id timestamp this instance may use until the lease is renewed again
+    private long maxTimestamp() {
+        return Math.max(this.idWorker.lastTimestamp(), System.currentTimeMillis() + this.ttl.toMillis());
+    }
+
+    /**
+     * Returns the slot's previous lastTimestamp (0 for a new slot) once it is claimed, null if another instance holds it.
+     */
+    private Long tryClaim(int candidate, long maxTimestamp) {
+        long ttlSeconds = this.ttl.toSeconds();
+        try {
+            return this.transactionTemplate.execute(status -> {
+                long previousTimestamp = this.workerIdLeaseRepository.findLastTimestamp(candidate).orElse(0L);
+                if (this.workerIdLeaseRepository.takeOverExpired(candidate, this.instanceId, ttlSeconds, Math.max(previousTimestamp, maxTimestamp)) == 1) {
+                    return previousTimestamp;
+                }
+                return this.workerIdLeaseRepository.insert(candidate, this.instanceId, ttlSeconds, maxTimestamp) == 1 ? 0L : null;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            return null; // Another instance inserted this slot first
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard;
+
+/**
+ * Outcome of assigning a list of artifacts to a wizard: how many were assigned and the wizard's new artifact count.
+ */
+public record ArtifactAssignmentResult(Integer wizardId,
+                                       int assigned,
+                                       Integer numberOfArtifacts) {
+}
@@ -0,0 +1,54 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.cache.CacheConfiguration;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboard;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically compares every wizard's artifactCount with the real number of artifacts it owns and recounts
+ * the wizards that drifted, e.g. after a manual database fix or a write that bypassed WizardService.
+ */
+@Component
+public class ArtifactCountReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactCountReconciler.class);
+
+    private final WizardRepository wizardRepository;
+
+    private final CacheManager cacheManager;
+
+    private final WizardLeaderboard wizardLeaderboard;
+
+    public ArtifactCountReconciler(WizardRepository wizardRepository, CacheManager cacheManager, WizardLeaderboard wizardLeaderboard) {
+        this.wizardRepository = wizardRepository;
+        this.cacheManager = cacheManager;
+        this.wizardLeaderboard = wizardLeaderboard;
+    }
+
+    @Scheduled(fixedDelayString = "${wizard.artifact-count.reconcile-interval}")
+    @Transactional
+    public int reconcile() {
+        List<Integer> driftedWizardIds = this.wizardRepository.findIdsWithArtifactCountDrift();
+        if (driftedWizardIds.isEmpty()) {
+            return 0;
+        }
+        LOGGER.warn("Artifact count drifted for wizards {}, recounting", driftedWizardIds);
+        this.wizardRepository.recountArtifacts(driftedWizardIds);
+        // Cached wizards and the leaderboard carry the old counts, cached artifacts only hold their owner's id.
+        // Only the recounted wizards are evicted and read back.
+        Cache wizardsCache = this.cacheManager.getCache(CacheConfiguration.WIZARDS);
+        driftedWizardIds.forEach(wizardsCache::evict);
+        this.wizardRepository.findAllById(driftedWizardIds).forEach(wizard ->
+                this.wizardLeaderboard.put(wizard.getId(), wizard.getName(), wizard.getNumberOfArtifacts()));
+        return driftedWizardIds.size();
+    }
+
+}
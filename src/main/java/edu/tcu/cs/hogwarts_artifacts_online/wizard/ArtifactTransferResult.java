@@ -0,0 +1,11 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard;
+
+/**
+ * Outcome of moving every artifact of one wizard to another, with both wizards' new artifact counts.
+ */
+public record ArtifactTransferResult(Integer fromWizardId,
+                                     Integer toWizardId,
+                                     int transferred,
+                                     Integer fromNumberOfArtifacts,
+                                     Integer toNumberOfArtifacts) {
+}
@@ -1,6 +1,7 @@
 package edu.tcu.cs.hogwarts_artifacts_online.wizard;
 
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
+import edu.tcu.cs.hogwarts_artifacts_online.system.id.PooledSequence;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
@@ -11,7 +12,7 @@ import java.util.List;
 public class Wizard implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @PooledSequence
     private Integer id;
 
     private String name;
@@ -19,6 +20,10 @@ public class Wizard implements Serializable {
     @OneToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, mappedBy = "owner")
     private List<Artifact> artifacts = new ArrayList<>();
 
+    // Denormalized size of artifacts. Entity flushes never write it, it only changes through the atomic
+    // "artifactCount = artifactCount + delta" updates in WizardRepository, so concurrent moves cannot lose updates.
+    @Column(nullable = false, updatable = false)
+    private Integer artifactCount = 0;
 
     public Wizard() {
     }
@@ -50,19 +55,18 @@ public class Wizard implements Serializable {
     public void addArtifact(Artifact artifact) {
         artifact.setOwner(this);
         this.artifacts.add(artifact);
+        this.artifactCount++;
     }
 
     public void removeArtifact(Artifact artifact){
         artifact.setOwner(null);
-        this.artifacts.remove(artifact);
+        if(this.artifacts.remove(artifact)){
+            this.artifactCount--;
+        }
     }
 
     public Integer getNumberOfArtifacts() {
-        return this.artifacts.size();
+        return this.artifactCount;
     }
 
-    public void removeAllArtifacts() {
-        this.artifacts.stream().forEach(artifact -> artifact.setOwner(null));
-        this.artifacts = null;
-    }
 }
@@ -1,12 +1,24 @@
 package edu.tcu.cs.hogwarts_artifacts_online.wizard;
 
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSort;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSummary;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.converter.ArtifactSummaryToArtifactDtoConverter;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwarts_artifacts_online.system.CursorPage;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
 import edu.tcu.cs.hogwarts_artifacts_online.system.Result;
 import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
 import edu.tcu.cs.hogwarts_artifacts_online.wizard.converter.WizardDtoToWizardConverter;
 import edu.tcu.cs.hogwarts_artifacts_online.wizard.converter.WizardToWizardDtoConverter;
 import edu.tcu.cs.hogwarts_artifacts_online.wizard.dto.WizardDto;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.LeaderboardEntry;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboard;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboardStream;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,16 +27,27 @@ import java.util.stream.Collectors;
 @RequestMapping("${api.endpoint.base-url}/wizards")
 public class WizardController {
 
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
     private final WizardService wizardService;
 
     private final WizardToWizardDtoConverter wizardToWizardDtoConverter;
 
     private final WizardDtoToWizardConverter wizardDtoToWizardConverter;
 
-    public WizardController(WizardService wizardService, WizardToWizardDtoConverter wizardToWizardDtoConverter, WizardDtoToWizardConverter wizardDtoToWizardConverter) {
+    private final ArtifactSummaryToArtifactDtoConverter artifactSummaryToArtifactDtoConverter;
+
+    private final WizardLeaderboard wizardLeaderboard;
+
+    private final WizardLeaderboardStream wizardLeaderboardStream;
+
+    public WizardController(WizardService wizardService, WizardToWizardDtoConverter wizardToWizardDtoConverter, WizardDtoToWizardConverter wizardDtoToWizardConverter, ArtifactSummaryToArtifactDtoConverter artifactSummaryToArtifactDtoConverter, WizardLeaderboard wizardLeaderboard, WizardLeaderboardStream wizardLeaderboardStream) {
         this.wizardService = wizardService;
         this.wizardToWizardDtoConverter = wizardToWizardDtoConverter;
         this.wizardDtoToWizardConverter = wizardDtoToWizardConverter;
+        this.artifactSummaryToArtifactDtoConverter = artifactSummaryToArtifactDtoConverter;
+        this.wizardLeaderboard = wizardLeaderboard;
+        this.wizardLeaderboardStream = wizardLeaderboardStream;
     }
 
     @GetMapping("/{wizardId}")
@@ -43,6 +66,26 @@ public class WizardController {
         return new Result(true, StatusCode.SUCCESS, "Find All Success", wizardDtos);
     }
 
+    @GetMapping(params = "ids")
+    public Result findWizardsByIds(@RequestParam List<String> ids){
+        MultiGet<Wizard> foundWizards = this.wizardService.findAllByIds(ids);
+        List<WizardDto> wizardDtos = foundWizards.content().stream()
+                .map(this.wizardToWizardDtoConverter::convert)
+                .collect(Collectors.toList());
+        return new Result(true, StatusCode.SUCCESS, "Find Many Success", new MultiGet<>(wizardDtos, foundWizards.missingIds()));
+    }
+
+    @GetMapping("/top")
+    public Result findTopWizards(@RequestParam(defaultValue = "10") int n){
+        List<LeaderboardEntry> topWizards = this.wizardLeaderboard.top(checkLeaderboardSize(n));
+        return new Result(true, StatusCode.SUCCESS, "Find Top Wizards Success", topWizards);
+    }
+
+    @GetMapping(path = "/top/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTopWizards(@RequestParam(defaultValue = "10") int n){
+        return this.wizardLeaderboardStream.subscribe(checkLeaderboardSize(n));
+    }
+
     @PostMapping
     public Result addWizard(@Valid @RequestBody WizardDto wizardDto){
         Wizard wizard = this.wizardDtoToWizardConverter.convert(wizardDto);
@@ -65,10 +108,39 @@ public class WizardController {
         return new Result(true, StatusCode.SUCCESS, "Delete Success");
     }
 
+    @GetMapping("/{wizardId}/artifacts")
+    public Result findWizardArtifacts(@PathVariable Integer wizardId,
+                                      @RequestParam(defaultValue = "id") String sort,
+                                      @RequestParam(required = false) String after,
+                                      @RequestParam(defaultValue = "100") int limit){
+        CursorPage<ArtifactSummary> foundPage = this.wizardService.findArtifacts(wizardId, ArtifactSort.from(sort), after, limit);
+        List<ArtifactDto> artifactDtos = this.artifactSummaryToArtifactDtoConverter.convertAll(foundPage.content());
+        return new Result(true, StatusCode.SUCCESS, "Find Artifacts Success", new CursorPage<>(artifactDtos, foundPage.nextCursor()));
+    }
+
+    @PutMapping("/{wizardId}/artifacts")
+    public Result assignArtifactsToWizard(@PathVariable Integer wizardId, @RequestBody List<String> artifactIds){
+        ArtifactAssignmentResult assignmentResult = this.wizardService.assignArtifactsToWizard(wizardId, artifactIds);
+        return new Result(true, StatusCode.SUCCESS, "Artifact Assignment Success", assignmentResult);
+    }
+
+    @PostMapping("/{fromWizardId}/transfer/{toWizardId}")
+    public Result transferArtifacts(@PathVariable Integer fromWizardId, @PathVariable Integer toWizardId){
+        ArtifactTransferResult transferResult = this.wizardService.transferArtifacts(fromWizardId, toWizardId);
+        return new Result(true, StatusCode.SUCCESS, "Artifact Transfer Success", transferResult);
+    }
+
     @PutMapping("/{wizardId}/artifacts/{artifactId}")
     public Result assignArtifactToWizard(@PathVariable Integer wizardId, @PathVariable String artifactId){
         this.wizardService.assignArtifactToWizard(wizardId, artifactId);
         return new Result(true, StatusCode.SUCCESS, "Artifact Assignment Success");
     }
 
+    private static int checkLeaderboardSize(int n){
+        if(n < 1 || n > MAX_LEADERBOARD_SIZE){
+            throw new InvalidArgumentException("n must be between 1 and " + MAX_LEADERBOARD_SIZE + ".");
+        }
+        return n;
+    }
+
 }
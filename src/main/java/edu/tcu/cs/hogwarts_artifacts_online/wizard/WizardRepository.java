@@ -1,6 +1,43 @@
 package edu.tcu.cs.hogwarts_artifacts_online.wizard;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface WizardRepository extends JpaRepository<Wizard, Integer> {
+
+    /**
+     * Renames in one statement, without loading the wizard first.
+     * Returns the number of updated rows, 0 if there is no wizard with this id.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Wizard w set w.name = :name where w.id = :id")
+    int updateName(Integer id, String name);
+
+    /**
+     * Deletes in one statement, without loading the wizard first.
+     * Returns the number of deleted rows, 0 if there is no wizard with this id.
+     */
+    @Modifying
+    @Query("delete from Wizard w where w.id = :id")
+    int deleteWizardById(Integer id);
+
+    @Modifying
+    @Query("update Wizard w set w.artifactCount = w.artifactCount + :delta where w.id = :id")
+    int adjustArtifactCount(Integer id, int delta);
+
+    @Query("select w.artifactCount from Wizard w where w.id = :id")
+    Integer findArtifactCount(Integer id);
+
+    @Query("select w.id from Wizard w where w.artifactCount <> (select count(a) from Artifact a where a.owner = w)")
+    List<Integer> findIdsWithArtifactCountDrift();
+
+    // Clears the persistence context, so wizards read afterwards carry the recounted value
+    @Modifying(clearAutomatically = true)
+    @Query("update Wizard w set w.artifactCount = (select count(a) from Artifact a where a.owner = w) where w.id in :ids")
+    int recountArtifacts(Collection<Integer> ids);
+
 }
@@ -1,26 +1,54 @@
 package edu.tcu.cs.hogwarts_artifacts_online.wizard;
 
-import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactCache;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactOwnerCount;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactService;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSort;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSummary;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.ArtifactIds;
+import edu.tcu.cs.hogwarts_artifacts_online.system.CursorPage;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
+import edu.tcu.cs.hogwarts_artifacts_online.system.cache.CacheConfiguration;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
 import edu.tcu.cs.hogwarts_artifacts_online.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboard;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class WizardService {
 
+    public static final int MAX_ASSIGNMENT_SIZE = 1000;
+
+    private static final char NAME_CURSOR_SEPARATOR = '\u0000';
+
     private final WizardRepository wizardRepository;
 
     private final ArtifactRepository artifactRepository;
 
-    public WizardService(WizardRepository wizardRepository, ArtifactRepository artifactRepository) {
+    private final WizardLeaderboard wizardLeaderboard;
+
+    private final ArtifactCache artifactCache;
+
+    public WizardService(WizardRepository wizardRepository, ArtifactRepository artifactRepository, WizardLeaderboard wizardLeaderboard, ArtifactCache artifactCache) {
         this.wizardRepository = wizardRepository;
         this.artifactRepository = artifactRepository;
+        this.wizardLeaderboard = wizardLeaderboard;
+        this.artifactCache = artifactCache;
     }
 
+    @Cacheable(CacheConfiguration.WIZARDS)
     public Wizard findById(Integer wizardId){
         return this.wizardRepository.findById(wizardId)
                 .orElseThrow(()->new ObjectNotFoundException("wizard", wizardId));
@@ -30,41 +58,177 @@ public class WizardService {
         return this.wizardRepository.findAll();
     }
 
+    public MultiGet<Wizard> findAllByIds(List<String> wizardIds){
+        return MultiGet.fetch(wizardIds, MultiGet::parseInteger, this.wizardRepository::findAllById, Wizard::getId);
+    }
+
+    /**
+     * One page of the artifacts a wizard owns, read as projections through the owner_id indexes,
+     * so neither the wizard nor its artifacts collection is loaded.
+     */
+    public CursorPage<ArtifactSummary> findArtifacts(Integer wizardId, ArtifactSort sort, String after, int limit){
+        if(limit < 1 || limit > ArtifactService.MAX_PAGE_SIZE){
+            throw new InvalidArgumentException("limit must be between 1 and " + ArtifactService.MAX_PAGE_SIZE + ".");
+        }
+        Limit window = Limit.of(limit + 1); // One extra row tells us whether there is a next page
+        CursorPage<ArtifactSummary> page = sort == ArtifactSort.NAME
+                ? findArtifactsByName(wizardId, after, limit, window)
+                : findArtifactsById(wizardId, after, limit, window);
+        // An empty page is the only case where we need to tell "no artifacts" from "no such wizard"
+        if(page.content().isEmpty() && !this.wizardRepository.existsById(wizardId)){
+            throw new ObjectNotFoundException("wizard", wizardId);
+        }
+        return page;
+    }
+
     public Wizard save(Wizard newWizard){
-        return this.wizardRepository.save(newWizard);
+        Wizard savedWizard = this.wizardRepository.save(newWizard);
+        this.wizardLeaderboard.put(savedWizard.getId(), savedWizard.getName(), savedWizard.getNumberOfArtifacts());
+        return savedWizard;
     }
 
+    // Cached artifacts only hold their owner's id, the new name is picked up from the wizards cache
+    @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, key = "#wizardId")
     public Wizard update(Integer wizardId, Wizard update){
+        if(this.wizardRepository.updateName(wizardId, update.getName()) == 0){
+            throw new ObjectNotFoundException("wizard", wizardId);
+        }
+        this.wizardLeaderboard.rename(wizardId, update.getName());
+        // Read back for the response, which also carries the artifact count
         return this.wizardRepository.findById(wizardId)
-                .map(oldWizard ->{
-                    oldWizard.setName(update.getName());
-                    return this.wizardRepository.save(oldWizard);
-                })
                 .orElseThrow(()->new ObjectNotFoundException("wizard", wizardId));
     }
 
+    @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, key = "#wizardId")
     public void delete(Integer wizardId){
-        Wizard wizard = this.wizardRepository.findById(wizardId)
-                .orElseThrow(() -> new ObjectNotFoundException("wizard", wizardId));
-
-        /*List<Artifact> artifacts = wizard.getArtifacts();
-        artifacts.forEach(a -> a.setOwner(null));
-        artifactRepository.saveAll(artifacts);
-        */
-        wizard.removeAllArtifacts();
-
-        this.wizardRepository.deleteById(wizardId);
+        this.artifactCache.evictAll(this.artifactRepository.findIdsByOwner(wizardId)); // They lose their owner
+        this.artifactRepository.clearOwner(wizardId);
+        if(this.wizardRepository.deleteWizardById(wizardId) == 0){
+            throw new ObjectNotFoundException("wizard", wizardId); // Rolls back the owner update as well
+        }
+        this.wizardLeaderboard.remove(wizardId);
     }
 
+    // Both the old and the new owner's artifact counts change
+    @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, allEntries = true)
     public void assignArtifactToWizard(Integer wizardId, String artifactId){
-        Artifact artifact = this.artifactRepository.findById(artifactId)
+        Long artifactKey = ArtifactIds.tryParse(artifactId)
                 .orElseThrow(()-> new ObjectNotFoundException("artifact", artifactId));
-        Wizard wizard = this.wizardRepository.findById(wizardId)
-                .orElseThrow(() -> new ObjectNotFoundException("wizard", wizardId));
-        if(artifact.getOwner() != null){
-            Wizard oldOwner = artifact.getOwner();
-            oldOwner.removeArtifact(artifact);
+        // Locked before its owner is read, a concurrent move of the same artifact waits for this one
+        if(this.artifactRepository.lockExistingIds(Set.of(artifactKey)).isEmpty()){
+            throw new ObjectNotFoundException("artifact", artifactId);
+        }
+        if(!this.wizardRepository.existsById(wizardId)){
+            throw new ObjectNotFoundException("wizard", wizardId);
+        }
+        Integer oldOwnerId = this.artifactRepository.findOwnerId(artifactKey).orElse(null);
+        if(wizardId.equals(oldOwnerId)){
+            return;
+        }
+        this.artifactRepository.assignOwner(Set.of(artifactKey), this.wizardRepository.getReferenceById(wizardId));
+        this.artifactCache.evict(artifactKey);
+        if(oldOwnerId != null){
+            adjustArtifactCount(oldOwnerId, -1);
+        }
+        adjustArtifactCount(wizardId, 1);
+    }
+
+    /**
+     * Assigns all the given artifacts to the wizard with one UPDATE. Fails without changing anything
+     * if the wizard or any of the artifacts does not exist.
+     */
+    @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, allEntries = true)
+    public ArtifactAssignmentResult assignArtifactsToWizard(Integer wizardId, List<String> artifactIds){
+        if(artifactIds.size() > MAX_ASSIGNMENT_SIZE){
+            throw new InvalidArgumentException("at most " + MAX_ASSIGNMENT_SIZE + " artifacts can be assigned at once.");
         }
-        wizard.addArtifact(artifact);
+        Set<Long> artifactKeys = new LinkedHashSet<>();
+        for(String artifactId : artifactIds){
+            artifactKeys.add(ArtifactIds.tryParse(artifactId)
+                    .orElseThrow(()-> new ObjectNotFoundException("artifact", artifactId)));
+        }
+        if(!this.wizardRepository.existsById(wizardId)){
+            throw new ObjectNotFoundException("wizard", wizardId);
+        }
+        if(artifactKeys.isEmpty()){
+            return new ArtifactAssignmentResult(wizardId, 0, this.wizardRepository.findArtifactCount(wizardId));
+        }
+        // The rows stay locked until commit, so the previous owners counted below are the ones the UPDATE replaces
+        List<Long> existingKeys = this.artifactRepository.lockExistingIds(artifactKeys);
+        if(existingKeys.size() < artifactKeys.size()){
+            throw new ObjectNotFoundException("artifact", missingIds(artifactKeys, existingKeys));
+        }
+        // Every previous owner, the target included, gives up its artifacts, then the target receives all of them
+        List<ArtifactOwnerCount> previousOwners = this.artifactRepository.countByOwner(artifactKeys);
+        int assigned = this.artifactRepository.assignOwner(artifactKeys, this.wizardRepository.getReferenceById(wizardId));
+        this.artifactCache.evictAll(artifactKeys);
+        previousOwners.forEach(owner -> adjustArtifactCount(owner.ownerId(), -owner.count().intValue()));
+        adjustArtifactCount(wizardId, assigned);
+        return new ArtifactAssignmentResult(wizardId, assigned, this.wizardRepository.findArtifactCount(wizardId));
+    }
+
+    /**
+     * Moves every artifact of one wizard to another with one UPDATE.
+     */
+    @CacheEvict(cacheNames = CacheConfiguration.WIZARDS, allEntries = true)
+    public ArtifactTransferResult transferArtifacts(Integer fromWizardId, Integer toWizardId){
+        if(fromWizardId.equals(toWizardId)){
+            throw new InvalidArgumentException("artifacts cannot be transferred from a wizard to itself.");
+        }
+        if(!this.wizardRepository.existsById(fromWizardId)){
+            throw new ObjectNotFoundException("wizard", fromWizardId);
+        }
+        if(!this.wizardRepository.existsById(toWizardId)){
+            throw new ObjectNotFoundException("wizard", toWizardId);
+        }
+        int transferred = this.artifactRepository.transferOwner(fromWizardId, this.wizardRepository.getReferenceById(toWizardId));
+        // Read after the UPDATE, so artifacts moved by it are all included. The target's own ones are evicted needlessly.
+        this.artifactCache.evictAll(this.artifactRepository.findIdsByOwner(toWizardId));
+        adjustArtifactCount(fromWizardId, -transferred);
+        adjustArtifactCount(toWizardId, transferred);
+        return new ArtifactTransferResult(fromWizardId, toWizardId, transferred,
+                this.wizardRepository.findArtifactCount(fromWizardId),
+                this.wizardRepository.findArtifactCount(toWizardId));
+    }
+
+    private CursorPage<ArtifactSummary> findArtifactsById(Integer wizardId, String after, int limit, Limit window){
+        List<ArtifactSummary> artifacts = after == null
+                ? this.artifactRepository.findSummariesByOwner(wizardId, window)
+                : this.artifactRepository.findSummariesByOwnerAfter(wizardId, decodeIdCursor(after), window);
+        return CursorPage.of(artifacts, limit, artifact -> ArtifactIds.toString(artifact.id()));
+    }
+
+    private CursorPage<ArtifactSummary> findArtifactsByName(Integer wizardId, String after, int limit, Limit window){
+        List<ArtifactSummary> artifacts;
+        if(after == null){
+            artifacts = this.artifactRepository.findSummariesByOwnerOrderByName(wizardId, window);
+        } else {
+            // The cursor holds the last row's name and id separated by NAME_CURSOR_SEPARATOR
+            String key = CursorPage.decode(after);
+            int separator = key.lastIndexOf(NAME_CURSOR_SEPARATOR);
+            Long id = separator < 0 ? null : ArtifactIds.tryParse(key.substring(separator + 1)).orElse(null);
+            if(id == null){
+                throw new InvalidArgumentException("cursor " + after + " is malformed.");
+            }
+            artifacts = this.artifactRepository.findSummariesByOwnerAfterName(wizardId, key.substring(0, separator), id, window);
+        }
+        return CursorPage.of(artifacts, limit, artifact -> artifact.name() + NAME_CURSOR_SEPARATOR + ArtifactIds.toString(artifact.id()));
+    }
+
+    private static Long decodeIdCursor(String after){
+        return ArtifactIds.tryParse(CursorPage.decode(after))
+                .orElseThrow(()-> new InvalidArgumentException("cursor " + after + " is malformed."));
+    }
+
+    // Atomic counter update, mirrored into the leaderboard once the transaction commits
+    private void adjustArtifactCount(Integer wizardId, int delta){
+        this.wizardRepository.adjustArtifactCount(wizardId, delta);
+        this.wizardLeaderboard.adjust(wizardId, delta);
+    }
+
+    private static String missingIds(Collection<Long> artifactKeys, Collection<Long> existingKeys){
+        Set<Long> missing = new LinkedHashSet<>(artifactKeys);
+        missing.removeAll(existingKeys);
+        return missing.stream().map(ArtifactIds::toString).collect(Collectors.joining(", "));
     }
 }
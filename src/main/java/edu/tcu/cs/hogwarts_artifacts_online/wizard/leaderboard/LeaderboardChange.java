@@ -0,0 +1,8 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard;
+
+/**
+ * One wizard's entry before and after a change. previous is null for a new wizard, current is null for a deleted one.
+ */
+public record LeaderboardChange(LeaderboardEntry previous,
+                                LeaderboardEntry current) {
+}
@@ -0,0 +1,6 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard;
+
+public record LeaderboardEntry(Integer wizardId,
+                               String name,
+                               int numberOfArtifacts) {
+}
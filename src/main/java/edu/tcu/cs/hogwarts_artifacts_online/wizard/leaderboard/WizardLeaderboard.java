@@ -0,0 +1,139 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.AfterCommit;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.Wizard;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Wizards ranked by artifact count, kept in memory and updated incrementally by the write paths in
+ * WizardService and ArtifactService. Entries live in a skip list ordered by count (then id), so reading
+ * the top n is a walk over its first n nodes. Writers are serialized, readers never block.
+ * Every update is applied after its transaction commits.
+ */
+@Component
+public class WizardLeaderboard {
+
+    private static final Comparator<LeaderboardEntry> RANKING = Comparator
+            .comparingInt(LeaderboardEntry::numberOfArtifacts).reversed()
+            .thenComparing(LeaderboardEntry::wizardId);
+
+    private final WizardRepository wizardRepository;
+
+    private final NavigableSet<LeaderboardEntry> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+    private final Map<Integer, LeaderboardEntry> entries = new ConcurrentHashMap<>();
+
+    private final List<Consumer<LeaderboardChange>> listeners = new CopyOnWriteArrayList<>();
+
+    public WizardLeaderboard(WizardRepository wizardRepository) {
+        this.wizardRepository = wizardRepository;
+    }
+
+    /**
+     * Loads every wizard's counter once the data initializers have run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload(this.wizardRepository.findAll());
+    }
+
+    public List<LeaderboardEntry> top(int n) {
+        List<LeaderboardEntry> top = new ArrayList<>(Math.min(n, this.ranking.size()));
+        for (LeaderboardEntry entry : this.ranking) {
+            if (top.size() == n) {
+                break;
+            }
+            top.add(entry);
+        }
+        return top;
+    }
+
+    public void addListener(Consumer<LeaderboardChange> listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<LeaderboardChange> listener) {
+        this.listeners.remove(listener);
+    }
+
+    public void put(Integer wizardId, String name, int numberOfArtifacts) {
+        AfterCommit.run(() -> replace(wizardId, new LeaderboardEntry(wizardId, name, numberOfArtifacts)));
+    }
+
+    public void rename(Integer wizardId, String name) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                LeaderboardEntry entry = this.entries.get(wizardId);
+                if (entry != null) {
+                    replace(wizardId, new LeaderboardEntry(wizardId, name, entry.numberOfArtifacts()));
+                }
+            }
+        });
+    }
+
+    public void adjust(Integer wizardId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                LeaderboardEntry entry = this.entries.get(wizardId);
+                if (entry != null) {
+                    replace(wizardId, new LeaderboardEntry(wizardId, entry.name(), entry.numberOfArtifacts() + delta));
+                }
+            }
+        });
+    }
+
+    public void remove(Integer wizardId) {
+        AfterCommit.run(() -> replace(wizardId, null));
+    }
+
+    /**
+     * Replaces every entry, e.g. after the counters were recounted. Listeners only hear about entries that changed.
+     */
+    public void reload(List<Wizard> wizards) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                Map<Integer, LeaderboardEntry> reloaded = new ConcurrentHashMap<>();
+                wizards.forEach(wizard -> reloaded.put(wizard.getId(),
+                        new LeaderboardEntry(wizard.getId(), wizard.getName(), wizard.getNumberOfArtifacts())));
+                List.copyOf(this.entries.keySet()).stream()
+                        .filter(wizardId -> !reloaded.containsKey(wizardId))
+                        .forEach(wizardId -> replace(wizardId, null));
+                reloaded.forEach(this::replace);
+            }
+        });
+    }
+
+    private synchronized void replace(Integer wizardId, LeaderboardEntry current) {
+        LeaderboardEntry previous = current == null ? this.entries.remove(wizardId) : this.entries.put(wizardId, current);
+        if (current != null && current.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            this.ranking.remove(previous);
+        }
+        if (current != null) {
+            this.ranking.add(current);
+        }
+        if (previous != null || current != null) {
+            LeaderboardChange change = new LeaderboardChange(previous, current);
+            this.listeners.forEach(listener -> listener.accept(change));
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes a subscriber's top n as a server-sent event whenever a leaderboard change alters it.
+ * Events are sent from a single background thread, so a slow client never holds up a committing write.
+ */
+@Component
+public class WizardLeaderboardStream {
+
+    private final WizardLeaderboard wizardLeaderboard;
+
+    private final Map<SseEmitter, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WizardLeaderboardStream(WizardLeaderboard wizardLeaderboard) {
+        this.wizardLeaderboard = wizardLeaderboard;
+        this.wizardLeaderboard.addListener(change -> this.executor.execute(this::publish));
+    }
+
+    public SseEmitter subscribe(int n) {
+        SseEmitter emitter = new SseEmitter(0L); // Kept open until the client disconnects
+        Subscription subscription = new Subscription(n);
+        this.subscriptions.put(emitter, subscription);
+        emitter.onCompletion(() -> this.subscriptions.remove(emitter));
+        emitter.onTimeout(() -> this.subscriptions.remove(emitter));
+        emitter.onError(ex -> this.subscriptions.remove(emitter));
+        this.executor.execute(() -> send(emitter, subscription));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void close() {
+        this.executor.shutdownNow();
+        this.subscriptions.keySet().forEach(SseEmitter::complete);
+    }
+
+    private void publish() {
+        this.subscriptions.forEach(this::send);
+    }
+
+    private void send(SseEmitter emitter, Subscription subscription) {
+        List<LeaderboardEntry> top = this.wizardLeaderboard.top(subscription.n);
+        if (top.equals(subscription.lastSent)) {
+            return; // The change happened below this subscriber's top n
+        }
+        try {
+            emitter.send(SseEmitter.event().name("leaderboard").data(top));
+            subscription.lastSent = top;
+        } catch (IOException | IllegalStateException ex) {
+            this.subscriptions.remove(emitter);
+        }
+    }
+
+    private static final class Subscription {
+
+        private final int n;
+
+        // Only touched by the executor thread
+        private List<LeaderboardEntry> lastSent;
+
+        private Subscription(int n) {
+            this.n = n;
+        }
+    }
+
+}
@@ -0,0 +1,10 @@
+-- Tables that must exist even when Hibernate does not create the schema, e.g. on a shared jdbc:h2:tcp database
+-- where Spring Boot defaults spring.jpa.hibernate.ddl-auto to none. Every instance claims its IdWorker slot here.
+create table if not exists worker_id_lease (
+    slot integer not null,
+    expires_at timestamp(6) with time zone,
+    instance_id varchar(255),
+    last_timestamp bigint,
+    primary key (slot)
+);
+alter table worker_id_lease add column if not exists last_timestamp bigint;
@@ -1,7 +1,10 @@
 package edu.tcu.cs.hogwarts_artifacts_online.artifact;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.converter.ArtifactSummaryToArtifactDtoConverter;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwarts_artifacts_online.system.CursorPage;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
 import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
 import edu.tcu.cs.hogwarts_artifacts_online.system.exception.ObjectNotFoundException;
 import org.hamcrest.Matchers;
@@ -15,17 +18,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -37,11 +48,16 @@ class ArtifactControllerTest {
     @MockitoBean
     ArtifactService artifactService;
 
+    @MockitoSpyBean
+    ArtifactSummaryToArtifactDtoConverter artifactSummaryToArtifactDtoConverter;
+
     @Autowired
     ObjectMapper objectMapper;
 
     List<Artifact> artifacts;
 
+    List<ArtifactSummary> artifactSummaries;
+
     @Value("${api.endpoint.base-url}")
     String baseUrl;
 
@@ -50,47 +66,50 @@ class ArtifactControllerTest {
         this.artifacts = new ArrayList<>();
 
         Artifact a1 = new Artifact();
-        a1.setId("1250808601744904191");
+        a1.setId(1250808601744904191L);
         a1.setName("Deluminator");
         a1.setDescription("A Deluminator is a device invented by Albus Dumbledore that resembles a cigarette lighter. It is used to remove or absorb (as well as return) the light from any light source to provide cover to the user.");
         a1.setImageUrl("ImageUrl");
         this.artifacts.add(a1);
 
         Artifact a2 = new Artifact();
-        a2.setId("1250808601744904192");
+        a2.setId(1250808601744904192L);
         a2.setName("Invisibility Cloak");
         a2.setDescription("An invisibility cloak is used to make the wearer invisible.");
         a2.setImageUrl("ImageUrl");
         this.artifacts.add(a2);
 
         Artifact a3 = new Artifact();
-        a3.setId("1250808601744904193");
+        a3.setId(1250808601744904193L);
         a3.setName("Elder Wand");
         a3.setDescription("The Elder Wand, known throughout history as the Deathstick or the Wand of Destiny, is an extremely powerful wand made of elder wood with a core of Thestral tail hair.");
         a3.setImageUrl("ImageUrl");
         this.artifacts.add(a3);
 
         Artifact a4 = new Artifact();
-        a4.setId("1250808601744904194");
+        a4.setId(1250808601744904194L);
         a4.setName("The Marauder's Map");
         a4.setDescription("A magical map of Hogwarts created by Remus Lupin, Peter Pettigrew, Sirius Black, and James Potter while they were students at Hogwarts.");
         a4.setImageUrl("ImageUrl");
         this.artifacts.add(a4);
 
         Artifact a5 = new Artifact();
-        a5.setId("1250808601744904195");
+        a5.setId(1250808601744904195L);
         a5.setName("The Sword Of Gryffindor");
         a5.setDescription("A goblin-made sword adorned with large rubies on the pommel. It was once owned by Godric Gryffindor, one of the medieval founders of Hogwarts.");
         a5.setImageUrl("ImageUrl");
         this.artifacts.add(a5);
 
         Artifact a6 = new Artifact();
-        a6.setId("1250808601744904196");
+        a6.setId(1250808601744904196L);
         a6.setName("Resurrection Stone");
         a6.setDescription("The Resurrection Stone allows the holder to bring back deceased loved ones, in a semi-physical form, and communicate with them.");
         a6.setImageUrl("ImageUrl");
         this.artifacts.add(a6);
 
+        this.artifactSummaries = this.artifacts.stream()
+                .map(a -> new ArtifactSummary(a.getId(), a.getName(), a.getDescription(), a.getImageUrl(), null, null, null))
+                .toList();
     }
 
     @AfterEach
@@ -129,7 +148,7 @@ class ArtifactControllerTest {
     @Test
     void testFindAllArtifactsSuccess() throws Exception {
         // Given
-        given(this.artifactService.findAll()).willReturn(this.artifacts);
+        given(this.artifactService.findAll()).willReturn(this.artifactSummaries);
 
         //When and then
         this.mockMvc.perform(get(this.baseUrl+"/artifacts").accept(MediaType.APPLICATION_JSON))
@@ -143,6 +162,118 @@ class ArtifactControllerTest {
                 .andExpect(jsonPath("$.data[1].name").value("Invisibility Cloak"));
     }
 
+    @Test
+    void testFindArtifactsPageSuccess() throws Exception {
+        // Given
+        String after = CursorPage.encode("1250808601744904192");
+        given(this.artifactService.findAll(ArtifactFilter.NONE, after, 2)).willReturn(new CursorPage<>(this.artifactSummaries.subList(2, 4), CursorPage.encode("1250808601744904194")));
+
+        //When and then
+        this.mockMvc.perform(get(this.baseUrl+"/artifacts").param("limit", "2").param("after", after).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Find All Success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].id").value("1250808601744904193"))
+                .andExpect(jsonPath("$.data.content[1].id").value("1250808601744904194"))
+                .andExpect(jsonPath("$.data.nextCursor").value(CursorPage.encode("1250808601744904194")));
+    }
+
+    @Test
+    void testFindFilteredArtifactsSuccess() throws Exception {
+        // Given
+        ArtifactFilter filter = new ArtifactFilter(1, false, "D", ArtifactSort.NAME);
+        given(this.artifactService.findAll(filter, null, 100)).willReturn(new CursorPage<>(this.artifactSummaries.subList(0, 1), null));
+
+        //When and then
+        this.mockMvc.perform(get(this.baseUrl+"/artifacts").param("ownerId", "1").param("namePrefix", "D").param("sort", "name").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].name").value("Deluminator"))
+                .andExpect(jsonPath("$.data.nextCursor").isEmpty());
+    }
+
+    @Test
+    void testFindArtifactsByIdsSuccess() throws Exception {
+        // Given
+        List<String> ids = List.of("1250808601744904192", "1250808601744904199", "1250808601744904191");
+        given(this.artifactService.findAllByIds(ids)).willReturn(new MultiGet<>(List.of(this.artifactSummaries.get(1), this.artifactSummaries.get(0)), List.of("1250808601744904199")));
+
+        //When and then
+        this.mockMvc.perform(get(this.baseUrl+"/artifacts").param("ids", String.join(",", ids)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Find Many Success"))
+                .andExpect(jsonPath("$.data.content[0].id").value("1250808601744904192"))
+                .andExpect(jsonPath("$.data.content[1].id").value("1250808601744904191"))
+                .andExpect(jsonPath("$.data.missingIds[0]").value("1250808601744904199"));
+    }
+
+    @Test
+    void testFindAllArtifactsConvertsEachOwnerOnce() throws Exception {
+        // Given
+        List<ArtifactSummary> summaries = List.of(
+                new ArtifactSummary(1250808601744904191L, "Deluminator", "Description", "ImageUrl", 1, "Albus Dumbledore", 2),
+                new ArtifactSummary(1250808601744904193L, "Elder Wand", "Description", "ImageUrl", 1, "Albus Dumbledore", 2),
+                new ArtifactSummary(1250808601744904196L, "Resurrection Stone", "Description", "ImageUrl", null, null, null));
+        given(this.artifactService.findAll()).willReturn(summaries);
+        List<List<ArtifactDto>> converted = new ArrayList<>();
+        willAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<ArtifactDto> artifactDtos = (List<ArtifactDto>) invocation.callRealMethod();
+            converted.add(artifactDtos);
+            return artifactDtos;
+        }).given(this.artifactSummaryToArtifactDtoConverter).convertAll(summaries);
+
+        //When and then
+        this.mockMvc.perform(get(this.baseUrl+"/artifacts").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data", Matchers.hasSize(3)))
+                .andExpect(jsonPath("$.data[0].owner.name").value("Albus Dumbledore"))
+                .andExpect(jsonPath("$.data[0].owner.numberOfArtifacts").value(2))
+                .andExpect(jsonPath("$.data[1].owner.id").value(1))
+                .andExpect(jsonPath("$.data[2].owner").isEmpty());
+        // The listing is converted in one pass that builds the shared owner's WizardDto once
+        verify(this.artifactSummaryToArtifactDtoConverter, never()).convert(any());
+        assertThat(converted).hasSize(1);
+        assertThat(converted.get(0).get(1).owner()).isSameAs(converted.get(0).get(0).owner());
+    }
+
+    @Test
+    void testExportArtifactsAsNdjson() throws Exception {
+        // The exporter reads the artifacts seeded by DBDataInitializer
+        String body = this.mockMvc.perform(get(this.baseUrl+"/artifacts/export").param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(6);
+        assertThat(this.objectMapper.readTree(lines[0]).get("name").asText()).isNotEmpty();
+    }
+
+    @Test
+    void testExportArtifactsAsCsv() throws Exception {
+        String body = this.mockMvc.perform(get(this.baseUrl+"/artifacts/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(7);
+        assertThat(lines[0]).isEqualTo("id,name,description,imageUrl,ownerId,ownerName");
+        assertThat(body).contains("1250808601744904191,Deluminator,");
+    }
+
+    @Test
+    void testExportArtifactsWithUnsupportedFormat() throws Exception {
+        this.mockMvc.perform(get(this.baseUrl+"/artifacts/export").param("format", "xml").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("format xml is not supported, use ndjson or csv."));
+    }
+
     @Test
     void testAddArtifactSuccess() throws Exception {
         // Given
@@ -150,7 +281,7 @@ class ArtifactControllerTest {
         String json = this.objectMapper.writeValueAsString(artifactDto);
 
         Artifact savedArtifact = new Artifact();
-        savedArtifact.setId("1250808601744904197");
+        savedArtifact.setId(1250808601744904197L);
         savedArtifact.setName("Remembrall");
         savedArtifact.setDescription("A Remembrall was a magical large marble-sized glass ball that contained smoke which turned red when its owner or user had forgotten something. It turned clear once whatever was forgotten was remembered.");
         savedArtifact.setImageUrl("ImageUrl");
@@ -176,7 +307,7 @@ class ArtifactControllerTest {
         String json = this.objectMapper.writeValueAsString(artifactDto);
 
         Artifact updatedArtifact = new Artifact();
-        updatedArtifact.setId("1250808601744904192");
+        updatedArtifact.setId(1250808601744904192L);
         updatedArtifact.setName("Invisibility Cloak");
         updatedArtifact.setDescription("A new description.");
         updatedArtifact.setImageUrl("ImageUrl");
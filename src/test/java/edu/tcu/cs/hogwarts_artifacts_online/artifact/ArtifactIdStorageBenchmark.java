@@ -0,0 +1,130 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares artifact primary keys stored as VARCHAR (the old String id) with BIGINT on an H2 file database.
+ * Both tables hold the same Snowflake-shaped ids; the setup prints the disk space used by each table and its
+ * primary-key index, the benchmarks measure a point lookup by id.
+ * Run it with:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactIdStorageBenchmark"
+ * Pass -Drows=... in exec.args to use a smaller table than the default 10M rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactIdStorageBenchmark {
+
+    // Same shape as IdWorker output: timestamp bits in the high part, so ids are large and increasing.
+    private static final long FIRST_ID = 1250808601744904191L;
+
+    private static final long ID_STEP = 4096L;
+
+    @Param("10000000")
+    private long rows;
+
+    private Path directory;
+
+    private Connection connection;
+
+    private PreparedStatement findByVarcharId;
+
+    private PreparedStatement findByBigintId;
+
+    @Setup(Level.Trial)
+    public void createTables() throws IOException, SQLException {
+        this.directory = Files.createTempDirectory("artifact-id-benchmark");
+        this.connection = DriverManager.getConnection("jdbc:h2:file:" + this.directory.resolve("db") + ";CACHE_SIZE=262144", "sa", "");
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("create table artifact_varchar (id varchar(255) primary key, name varchar(255), owner_id integer)");
+            statement.execute("create table artifact_bigint (id bigint primary key, name varchar(255), owner_id integer)");
+            statement.execute("insert into artifact_varchar select cast(" + FIRST_ID + " + x * " + ID_STEP + " as varchar), 'Artifact ' || x, mod(x, 1000) from system_range(0, " + (this.rows - 1) + ")");
+            statement.execute("insert into artifact_bigint select " + FIRST_ID + " + x * " + ID_STEP + ", 'Artifact ' || x, mod(x, 1000) from system_range(0, " + (this.rows - 1) + ")");
+            statement.execute("checkpoint sync");
+            System.out.printf("%n%,d rows: VARCHAR table+index %,d KB, BIGINT table+index %,d KB%n", this.rows,
+                    diskSpaceUsed(statement, "ARTIFACT_VARCHAR"), diskSpaceUsed(statement, "ARTIFACT_BIGINT"));
+        }
+        this.findByVarcharId = this.connection.prepareStatement("select name from artifact_varchar where id = ?");
+        this.findByBigintId = this.connection.prepareStatement("select name from artifact_bigint where id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void dropDatabase() throws IOException, SQLException {
+        this.connection.close();
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public String findByVarcharId() throws SQLException {
+        this.findByVarcharId.setString(1, Long.toString(randomId()));
+        return firstName(this.findByVarcharId);
+    }
+
+    @Benchmark
+    public String findByBigintId() throws SQLException {
+        this.findByBigintId.setLong(1, randomId());
+        return firstName(this.findByBigintId);
+    }
+
+    private long randomId() {
+        return FIRST_ID + ThreadLocalRandom.current().nextLong(this.rows) * ID_STEP;
+    }
+
+    private static String firstName(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    private static long diskSpaceUsed(Statement statement, String table) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("select disk_space_used('" + table + "')")) {
+            resultSet.next();
+            return resultSet.getLong(1) / 1024;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ArtifactIdStorageBenchmark.class.getSimpleName())
+                .param("rows", System.getProperty("rows", "10000000"))
+                .build()).run();
+    }
+
+}
@@ -1,8 +1,16 @@
 package edu.tcu.cs.hogwarts_artifacts_online.artifact;
 
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.search.ArtifactSearchIndex;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.IdWorker;
+import edu.tcu.cs.hogwarts_artifacts_online.suggest.SuggestionIndex;
+import edu.tcu.cs.hogwarts_artifacts_online.system.CursorPage;
+import edu.tcu.cs.hogwarts_artifacts_online.system.MultiGet;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
 import edu.tcu.cs.hogwarts_artifacts_online.system.exception.ObjectNotFoundException;
 import edu.tcu.cs.hogwarts_artifacts_online.wizard.Wizard;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardService;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboard;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +26,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,24 +38,44 @@ class ArtifactServiceTest {
     @Mock
     ArtifactRepository artifactRepository;
 
+    @Mock
+    WizardRepository wizardRepository;
+
+    @Mock
+    WizardLeaderboard wizardLeaderboard;
+
+    @Mock
+    ArtifactSearchIndex artifactSearchIndex;
+
+    @Mock
+    SuggestionIndex suggestionIndex;
+
     @Mock
     IdWorker idWorker;
 
+    @Mock
+    ArtifactCache artifactCache;
+
+    @Mock
+    WizardService wizardService;
+
     @InjectMocks
     ArtifactService artifactService;
 
     List<Artifact> artifacts;
 
+    List<ArtifactSummary> artifactSummaries;
+
     @BeforeEach
     void setUp() {
         Artifact a1 = new Artifact();
-        a1.setId("1250808601744904191");
+        a1.setId(1250808601744904191L);
         a1.setName("Deluminator");
         a1.setDescription("A Deluminator is a device invented by Albus Dumbledore that resembles a cigarette lighter. It is used to remove or absorb (as well as return) the light from any light source to provide cover to the user.");
         a1.setImageUrl("ImageUrl");
 
         Artifact a2 = new Artifact();
-        a2.setId("1250808601744904192");
+        a2.setId(1250808601744904192L);
         a2.setName("Invisibility Cloak");
         a2.setDescription("An invisibility cloak is used to make the wearer invisible.");
         a2.setImageUrl("ImageUrl");
@@ -54,6 +83,10 @@ class ArtifactServiceTest {
         this.artifacts = new ArrayList<>();
         this.artifacts.add(a1);
         this.artifacts.add(a2);
+
+        this.artifactSummaries = new ArrayList<>();
+        this.artifactSummaries.add(new ArtifactSummary(a1.getId(), a1.getName(), a1.getDescription(), a1.getImageUrl(), 1, "Albus Dumbledore", 1));
+        this.artifactSummaries.add(new ArtifactSummary(a2.getId(), a2.getName(), a2.getDescription(), a2.getImageUrl(), null, null, null));
     }
 
     @AfterEach
@@ -70,7 +103,7 @@ class ArtifactServiceTest {
         "imageUrl": "ImageUrl"
          */
         Artifact a = new Artifact();
-        a.setId("1250808601744904192");
+        a.setId(1250808601744904192L);
         a.setName("Invisibility Cloak");
         a.setDescription("An invisibility cloak is used to make the wearer invisible.");
         a.setImageUrl("ImageUrl");
@@ -81,7 +114,7 @@ class ArtifactServiceTest {
 
         a.setOwner(w);
 
-        given(artifactRepository.findById("1250808601744904192")).willReturn(Optional.of(a));
+        given(artifactRepository.findById(1250808601744904192L)).willReturn(Optional.of(a));
 
         // When. Act on the target behavior. When steps should cover the method to be tested.
         Artifact returnedArtifact = artifactService.findById("1250808601744904192");
@@ -92,13 +125,34 @@ class ArtifactServiceTest {
         assertThat(returnedArtifact.getDescription()).isEqualTo(a.getDescription());
         assertThat(returnedArtifact.getImageUrl()).isEqualTo(a.getImageUrl());
 
-        verify(artifactRepository, times(1)).findById("1250808601744904192");
+        verify(artifactRepository, times(1)).findById(1250808601744904192L);
+        verify(artifactCache, times(1)).put(a);
+    }
+
+    @Test
+    void testFindByIdFromCacheAttachesCurrentOwner() {
+        // Given
+        Wizard w = new Wizard();
+        w.setId(2);
+        w.setName("Harry Potter");
+
+        given(artifactCache.get(1250808601744904192L)).willReturn(new ArtifactCache.CachedArtifact(1250808601744904192L,
+                "Invisibility Cloak", "An invisibility cloak is used to make the wearer invisible.", "ImageUrl", 2));
+        given(wizardService.findById(2)).willReturn(w);
+
+        // When, with a spelling of the id other than the canonical one
+        Artifact returnedArtifact = artifactService.findById("01250808601744904192");
+
+        // Then
+        assertThat(returnedArtifact.getName()).isEqualTo("Invisibility Cloak");
+        assertThat(returnedArtifact.getOwner()).isSameAs(w);
+        verify(artifactRepository, never()).findById(any());
     }
 
     @Test
     void testFindByIdNotFound(){
         // Given
-        given(artifactRepository.findById(Mockito.any(String.class))).willReturn(Optional.empty());
+        given(artifactRepository.findById(Mockito.any(Long.class))).willReturn(Optional.empty());
 
         //When
         Throwable thrown = catchThrowable(()->{
@@ -108,20 +162,116 @@ class ArtifactServiceTest {
         //Then
         assertThat(thrown).isInstanceOf(ObjectNotFoundException.class)
                             .hasMessage("Could not find artifact with Id 1250808601744904192 :(");
-        verify(artifactRepository, times(1)).findById("1250808601744904192");
+        verify(artifactRepository, times(1)).findById(1250808601744904192L);
+    }
+
+    @Test
+    void testFindByIdWithMalformedId(){
+        //When
+        Throwable thrown = catchThrowable(()->{
+            artifactService.findById("not-a-number");
+        });
+
+        //Then
+        assertThat(thrown).isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find artifact with Id not-a-number :(");
+        verifyNoInteractions(artifactRepository);
     }
 
     @Test
     void testFindAllSuccess(){
         // Given
-        given(artifactRepository.findAll()).willReturn(this.artifacts);
+        given(artifactRepository.findAllSummaries()).willReturn(this.artifactSummaries);
+
+        // When
+        List<ArtifactSummary> actualArtifacts = artifactService.findAll();
+
+        // Then
+        assertThat(actualArtifacts.size()).isEqualTo(this.artifactSummaries.size());
+        verify(artifactRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void testFindFirstPageSuccess(){
+        // Given
+        given(artifactRepository.findSummaries(ArtifactFilter.NONE, null, null, Limit.of(2))).willReturn(this.artifactSummaries);
 
         // When
-        List<Artifact> actualArtifacts = artifactService.findAll();
+        CursorPage<ArtifactSummary> page = artifactService.findAll(ArtifactFilter.NONE, null, 1);
 
         // Then
-        assertThat(actualArtifacts.size()).isEqualTo(this.artifacts.size());
-        verify(artifactRepository, times(1)).findAll();
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.content().get(0).id()).isEqualTo(1250808601744904191L);
+        assertThat(CursorPage.decode(page.nextCursor())).isEqualTo("1250808601744904191");
+        verify(artifactRepository, times(1)).findSummaries(ArtifactFilter.NONE, null, null, Limit.of(2));
+    }
+
+    @Test
+    void testFindLastPageSuccess(){
+        // Given
+        given(artifactRepository.findSummaries(ArtifactFilter.NONE, null, 1250808601744904190L, Limit.of(3))).willReturn(this.artifactSummaries);
+
+        // When
+        CursorPage<ArtifactSummary> page = artifactService.findAll(ArtifactFilter.NONE, CursorPage.encode("1250808601744904190"), 2);
+
+        // Then
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.nextCursor()).isNull();
+        verify(artifactRepository, times(1)).findSummaries(ArtifactFilter.NONE, null, 1250808601744904190L, Limit.of(3));
+    }
+
+    @Test
+    void testFindPageWithInvalidLimit(){
+        // When
+        Throwable thrown = catchThrowable(()->{
+            artifactService.findAll(ArtifactFilter.NONE, null, 0);
+        });
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidArgumentException.class)
+                .hasMessage("limit must be between 1 and 1000.");
+        verifyNoInteractions(artifactRepository);
+    }
+
+    @Test
+    void testFindFilteredPageByNameSuccess(){
+        // Given
+        ArtifactFilter filter = new ArtifactFilter(1, false, "D", ArtifactSort.NAME);
+        given(artifactRepository.findSummaries(filter, "Deluminator", 1250808601744904190L, Limit.of(2))).willReturn(this.artifactSummaries);
+
+        // When
+        CursorPage<ArtifactSummary> page = artifactService.findAll(filter, CursorPage.encode("Deluminator\u00001250808601744904190"), 1);
+
+        // Then
+        assertThat(page.content()).hasSize(1);
+        assertThat(CursorPage.decode(page.nextCursor())).isEqualTo("Deluminator\u00001250808601744904191");
+        verify(artifactRepository, times(1)).findSummaries(filter, "Deluminator", 1250808601744904190L, Limit.of(2));
+    }
+
+    @Test
+    void testFindAllByIdsSuccess(){
+        // Given
+        given(artifactRepository.findSummariesByIds(List.of(1250808601744904192L, 1250808601744904191L, 1250808601744904199L))).willReturn(this.artifactSummaries);
+
+        // When
+        MultiGet<ArtifactSummary> found = artifactService.findAllByIds(List.of("1250808601744904192", "1250808601744904191", "1250808601744904199", "abc"));
+
+        // Then
+        assertThat(found.content()).extracting(ArtifactSummary::id).containsExactly(1250808601744904192L, 1250808601744904191L);
+        assertThat(found.missingIds()).containsExactly("1250808601744904199", "abc");
+    }
+
+    @Test
+    void testFindFilteredPageWithOwnerAndUnowned(){
+        // When
+        Throwable thrown = catchThrowable(()->{
+            artifactService.findAll(new ArtifactFilter(1, true, null, ArtifactSort.ID), null, 10);
+        });
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidArgumentException.class)
+                .hasMessage("ownerId and unowned cannot be combined.");
+        verifyNoInteractions(artifactRepository);
     }
 
     @Test
@@ -139,7 +289,7 @@ class ArtifactServiceTest {
         Artifact savedArtifact = artifactService.save(newArtifact);
 
         //Then
-        assertThat(savedArtifact.getId()).isEqualTo("123456");
+        assertThat(savedArtifact.getId()).isEqualTo(123456L);
         assertThat(savedArtifact.getName()).isEqualTo(newArtifact.getName());
         assertThat(savedArtifact.getDescription()).isEqualTo(newArtifact.getDescription());
         assertThat(savedArtifact.getImageUrl()).isEqualTo(newArtifact.getImageUrl());
@@ -150,18 +300,18 @@ class ArtifactServiceTest {
     void testUpdateSuccess(){
         // Given
         Artifact oldArtifact = new Artifact();
-        oldArtifact.setId("1250808601744904192");
+        oldArtifact.setId(1250808601744904192L);
         oldArtifact.setName("Invisibility Cloak");
         oldArtifact.setDescription("An invisibility cloak is used to make the wearer invisible.");
         oldArtifact.setImageUrl("ImageUrl");
 
         Artifact update = new Artifact();
-        update.setId("1250808601744904192");
+        update.setId(1250808601744904192L);
         update.setName("Invisibility Cloak");
         update.setDescription("A new description.");
         update.setImageUrl("ImageUrl");
 
-        given(artifactRepository.findById("1250808601744904192")).willReturn(Optional.of(oldArtifact));
+        given(artifactRepository.findById(1250808601744904192L)).willReturn(Optional.of(oldArtifact));
         given(artifactRepository.save(oldArtifact)).willReturn(oldArtifact);
 
         // When
@@ -170,8 +320,9 @@ class ArtifactServiceTest {
         // Then
         assertThat(updatedArtifact.getId()).isEqualTo(update.getId());
         assertThat(updatedArtifact.getDescription()).isEqualTo(update.getDescription());
-        verify(artifactRepository,times(1)).findById("1250808601744904192");
+        verify(artifactRepository,times(1)).findById(1250808601744904192L);
         verify(artifactRepository,times(1)).save(oldArtifact);
+        verify(artifactCache, times(1)).evict(1250808601744904192L);
 
     }
 
@@ -183,7 +334,7 @@ class ArtifactServiceTest {
         update.setDescription("A new description.");
         update.setImageUrl("ImageUrl");
 
-        given(artifactRepository.findById("1250808601744904192")).willReturn(Optional.empty());
+        given(artifactRepository.findById(1250808601744904192L)).willReturn(Optional.empty());
 
         //When
         assertThrows(ObjectNotFoundException.class, ()->{
@@ -191,33 +342,30 @@ class ArtifactServiceTest {
         });
 
         //Then
-        verify(artifactRepository, times(1)).findById("1250808601744904192");
+        verify(artifactRepository, times(1)).findById(1250808601744904192L);
 
     }
 
     @Test
     void testDeleteSuccess(){
         // Given
-        Artifact artifact = new Artifact();
-        artifact.setId("1250808601744904192");
-        artifact.setName("Invisibility Cloak");
-        artifact.setDescription("An invisibility cloak is used to make the wearer invisible.");
-        artifact.setImageUrl("ImageUrl");
-
-        given(artifactRepository.findById("1250808601744904192")).willReturn(Optional.of(artifact));
-        doNothing().when(artifactRepository).deleteById("1250808601744904192");
+        given(artifactRepository.findOwnerId(1250808601744904192L)).willReturn(Optional.of(2));
+        given(artifactRepository.deleteArtifactById(1250808601744904192L)).willReturn(1);
 
         // When
         artifactService.delete("1250808601744904192");
 
         // Then
-        verify(artifactRepository, times(1)).deleteById("1250808601744904192");
+        verify(artifactRepository, times(1)).deleteArtifactById(1250808601744904192L);
+        verify(wizardRepository, times(1)).adjustArtifactCount(2, -1);
+        verify(artifactRepository, never()).findById(any());
+        verify(artifactCache, times(1)).evict(1250808601744904192L);
     }
 
     @Test
     void testDeleteNotFound(){
         // Given
-        given(artifactRepository.findById("1250808601744904192")).willReturn(Optional.empty());
+        given(artifactRepository.deleteArtifactById(1250808601744904192L)).willReturn(0);
 
         // When
         assertThrows(ObjectNotFoundException.class, ()->{
@@ -225,6 +373,7 @@ class ArtifactServiceTest {
         });
 
         // Then
-        verify(artifactRepository, times(1)).findById("1250808601744904192");
+        verify(artifactRepository, times(1)).deleteArtifactById(1250808601744904192L);
+        verifyNoInteractions(wizardRepository);
     }
 }
\ No newline at end of file
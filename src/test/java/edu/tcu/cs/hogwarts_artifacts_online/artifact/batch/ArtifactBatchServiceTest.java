@@ -0,0 +1,167 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.batch;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@SpringBootTest(properties = {"artifact.batch.chunk-size=2", "artifact.batch.commit-interval=3"})
+@Transactional
+class ArtifactBatchServiceTest {
+
+    @Autowired
+    ArtifactBatchService artifactBatchService;
+
+    @Autowired
+    ArtifactRepository artifactRepository;
+
+    @Test
+    void testImportArtifactsSuccess() throws Exception {
+        // Given
+        long countBefore = this.artifactRepository.count();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 7; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"name\":\"Artifact ").append(i).append("\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"}");
+        }
+        json.append("]");
+
+        // When
+        ArtifactBatchResult result = this.artifactBatchService.importArtifacts(toStream(json.toString()));
+
+        // Then
+        assertThat(result.received()).isEqualTo(7);
+        assertThat(result.imported()).isEqualTo(7);
+        assertThat(result.complete()).isTrue();
+        assertThat(result.failures()).isEmpty();
+        assertThat(this.artifactRepository.count()).isEqualTo(countBefore + 7);
+        assertThat(this.artifactRepository.findAll()).extracting(Artifact::getName).contains("Artifact 0", "Artifact 6");
+    }
+
+    @Test
+    void testImportArtifactsReportsInvalidItems() throws Exception {
+        // Given
+        String json = "[{\"name\":\"Remembrall\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"},"
+                + "{\"name\":\"\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"},"
+                + "{\"name\":\"Time-Turner\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"}]";
+
+        // When
+        ArtifactBatchResult result = this.artifactBatchService.importArtifacts(toStream(json));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.failures()).extracting(ArtifactBatchFailure::index).containsExactly(1);
+        assertThat(result.failures().get(0).errors()).containsEntry("name", "name is required.");
+        assertThat(result.failuresTruncated()).isFalse();
+    }
+
+    @Test
+    void testImportArtifactsStopsAtMalformedItem() throws Exception {
+        // Given
+        String json = "[{\"name\":\"Remembrall\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"},"
+                + "{\"name\": [}]";
+
+        // When
+        ArtifactBatchResult result = this.artifactBatchService.importArtifacts(toStream(json));
+
+        // Then
+        assertThat(result.complete()).isFalse();
+        assertThat(result.notAttemptedAfter()).isEqualTo(1);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failures()).extracting(ArtifactBatchFailure::index).containsExactly(1);
+        assertThat(result.failures().get(0).errors().get("json")).endsWith("the items after this one were not attempted.");
+    }
+
+    @Test
+    void testImportArtifactsStopsAtMalformedInputBetweenItems() throws Exception {
+        // Given, two valid items still pending their commit interval, then a stray close marker
+        long countBefore = this.artifactRepository.count();
+        String json = "[{\"name\":\"Remembrall\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"},"
+                + "{\"name\":\"Time-Turner\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"} }";
+
+        // When
+        ArtifactBatchResult result = this.artifactBatchService.importArtifacts(toStream(json));
+
+        // Then
+        assertThat(result.complete()).isFalse();
+        assertThat(result.notAttemptedAfter()).isEqualTo(2);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failures()).extracting(ArtifactBatchFailure::index).containsExactly(2);
+        assertThat(this.artifactRepository.count()).isEqualTo(countBefore + 2);
+    }
+
+    @Test
+    void testImportArtifactsStopsAtTruncatedBody() throws Exception {
+        // Given
+        long countBefore = this.artifactRepository.count();
+        String json = "[{\"name\":\"Remembrall\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"},";
+
+        // When
+        ArtifactBatchResult result = this.artifactBatchService.importArtifacts(toStream(json));
+
+        // Then
+        assertThat(result.complete()).isFalse();
+        assertThat(result.notAttemptedAfter()).isEqualTo(1);
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(this.artifactRepository.count()).isEqualTo(countBefore + 1);
+    }
+
+    @Test
+    void testImportArtifactsCapsReportedFailures() throws Exception {
+        // Given, invalid items interleaved with valid ones across several commit intervals
+        int items = ArtifactBatchResult.MAX_REPORTED_FAILURES * 3;
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"name\":\"").append(i % 3 == 0 ? "Artifact " + i : "").append("\",\"description\":\"Description...\",\"imageUrl\":\"ImageUrl\"}");
+        }
+        json.append("]");
+
+        // When
+        ArtifactBatchResult result = this.artifactBatchService.importArtifacts(toStream(json.toString()));
+
+        // Then
+        assertThat(result.received()).isEqualTo(items);
+        assertThat(result.imported()).isEqualTo(ArtifactBatchResult.MAX_REPORTED_FAILURES);
+        assertThat(result.failed()).isEqualTo(ArtifactBatchResult.MAX_REPORTED_FAILURES * 2);
+        assertThat(result.failuresTruncated()).isTrue();
+        assertThat(result.failures()).hasSize(ArtifactBatchResult.MAX_REPORTED_FAILURES)
+                .extracting(ArtifactBatchFailure::index).isSorted().startsWith(1, 2, 4, 5);
+        assertThat(result.failures().get(ArtifactBatchResult.MAX_REPORTED_FAILURES - 1).index()).isEqualTo(149);
+    }
+
+    @Test
+    void testImportArtifactsRejectsNonArrayBody() {
+        // When
+        Throwable thrown = catchThrowable(() -> this.artifactBatchService.importArtifacts(toStream("{\"name\":\"Remembrall\"}")));
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidArgumentException.class)
+                .hasMessage("request body must be a JSON array of artifacts.");
+    }
+
+    @Test
+    void testImportArtifactsRejectsMalformedBody() {
+        // When
+        Throwable thrown = catchThrowable(() -> this.artifactBatchService.importArtifacts(toStream("not json")));
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidArgumentException.class)
+                .hasMessage("request body must be a JSON array of artifacts.");
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the artifact search index over synthetic artifacts whose words follow a Zipf distribution
+ * over a 50,000 word vocabulary, like natural text. "rare" queries two words from the long tail, "common"
+ * adds one of the 100 most frequent words, which matches a large share of the index.
+ * Run it with:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath edu.tcu.cs.hogwarts_artifacts_online.artifact.search.InvertedIndexBenchmark"
+ * Pass -Dartifacts=... in exec.args to use another index size than the default 1M.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class InvertedIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    @Param("1000000")
+    private int artifacts;
+
+    private InvertedIndex index;
+
+    private double[] cumulative;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        this.cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            sum += 1.0 / (rank + 1);
+            this.cumulative[rank] = sum;
+        }
+        Random random = new Random(42);
+        this.index = new InvertedIndex();
+        for (long id = 0; id < this.artifacts; id++) {
+            this.index.add(InvertedIndex.analyze(id, words(random, 3), words(random, 20)));
+        }
+    }
+
+    @Benchmark
+    public SearchHits rare() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return this.index.search(List.of(word(1000 + random.nextInt(10_000)), word(1000 + random.nextInt(10_000))), 0, 20);
+    }
+
+    @Benchmark
+    public SearchHits common() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return this.index.search(List.of(word(random.nextInt(100)), word(1000 + random.nextInt(10_000))), 0, 20);
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            double target = random.nextDouble() * this.cumulative[VOCABULARY - 1];
+            int rank = Arrays.binarySearch(this.cumulative, target);
+            text.append(word(rank < 0 ? -rank - 1 : rank)).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static String word(int rank) {
+        return "w" + rank;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InvertedIndexBenchmark.class.getSimpleName())
+                .param("artifacts", System.getProperty("artifacts", "1000000"))
+                .build()).run();
+    }
+
+}
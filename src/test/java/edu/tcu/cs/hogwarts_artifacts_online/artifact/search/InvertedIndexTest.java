@@ -0,0 +1,121 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new InvertedIndex();
+        this.index.add(InvertedIndex.analyze(1L, "Deluminator", "A Deluminator is a device invented by Albus Dumbledore that resembles a cigarette lighter. It is used to remove or absorb (as well as return) the light from any light source to provide cover to the user."));
+        this.index.add(InvertedIndex.analyze(2L, "Invisibility Cloak", "An invisibility cloak is used to make the wearer invisible."));
+        this.index.add(InvertedIndex.analyze(3L, "Elder Wand", "The Elder Wand, known throughout history as the Deathstick or the Wand of Destiny, is an extremely powerful wand made of elder wood with a core of Thestral tail hair."));
+        this.index.add(InvertedIndex.analyze(4L, "The Marauder's Map", "A magical map of Hogwarts created by Remus Lupin, Peter Pettigrew, Sirius Black, and James Potter while they were students at Hogwarts."));
+        this.index.add(InvertedIndex.analyze(5L, "The Sword Of Gryffindor", "A goblin-made sword adorned with large rubies on the pommel. It was once owned by Godric Gryffindor, one of the medieval founders of Hogwarts."));
+    }
+
+    @Test
+    void testSearchRanksByBm25() {
+        // When
+        SearchHits hits = this.index.search(List.of("wand"), 0, 10);
+
+        // Then
+        assertThat(hits.ids()).containsExactly(3L);
+        assertThat(hits.totalHits()).isEqualTo(1);
+    }
+
+    @Test
+    void testSearchMatchesAnyTermAndPrefersNameMatches() {
+        // When, "hogwarts" only appears in descriptions, "map" is in the name of artifact 4
+        SearchHits hits = this.index.search(List.of("hogwarts", "map"), 0, 10);
+
+        // Then
+        assertThat(hits.ids()).containsExactly(4L, 5L);
+        assertThat(hits.totalHits()).isEqualTo(2);
+    }
+
+    @Test
+    void testSearchPaginates() {
+        // When
+        SearchHits first = this.index.search(List.of("a", "the"), 0, 2);
+        SearchHits second = this.index.search(List.of("a", "the"), 2, 2);
+
+        // Then
+        assertThat(first.totalHits()).isEqualTo(5);
+        assertThat(second.totalHits()).isEqualTo(5);
+        assertThat(first.ids()).hasSize(2).doesNotContainAnyElementsOf(second.ids());
+        assertThat(second.ids()).hasSize(2);
+    }
+
+    @Test
+    void testUpdateReplacesDocument() {
+        // When
+        this.index.add(InvertedIndex.analyze(2L, "Time-Turner", "Turns back time."));
+
+        // Then
+        assertThat(this.index.search(List.of("invisibility"), 0, 10).ids()).isEmpty();
+        assertThat(this.index.search(List.of("time"), 0, 10).ids()).containsExactly(2L);
+        assertThat(this.index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void testRemoveDropsDocument() {
+        // When
+        boolean removed = this.index.remove(3L);
+
+        // Then
+        assertThat(removed).isTrue();
+        assertThat(this.index.search(List.of("wand"), 0, 10).totalHits()).isEqualTo(0);
+        assertThat(this.index.remove(3L)).isFalse();
+    }
+
+    @Test
+    void testRenumberingKeepsResults() {
+        // Given, enough churn to compact postings and renumber ordinals several times
+        for (int round = 0; round < 3000; round++) {
+            this.index.add(InvertedIndex.analyze(100L + round % 7, "Potion " + round, "Brewed in round " + round));
+        }
+
+        // When
+        SearchHits hits = this.index.search(List.of("potion"), 0, 10);
+
+        // Then
+        assertThat(hits.totalHits()).isEqualTo(7);
+        assertThat(this.index.search(List.of("2999"), 0, 10).ids()).containsExactly(100L + 2999 % 7);
+        assertThat(this.index.search(List.of("5"), 0, 10).ids()).isEmpty();
+        assertThat(this.index.search(List.of("wand"), 0, 10).ids()).containsExactly(3L);
+    }
+
+    @Test
+    void testPrunedTopMatchesExhaustiveRanking() {
+        // Given, skewed word frequencies so that common words get pruned once the heap is full
+        InvertedIndex skewed = new InvertedIndex();
+        Random random = new Random(7);
+        for (long id = 0; id < 5000; id++) {
+            StringBuilder description = new StringBuilder();
+            for (int word = 0; word < 12; word++) {
+                description.append('w').append((int) Math.pow(random.nextDouble(), 3) * 500).append(' ');
+            }
+            skewed.add(InvertedIndex.analyze(id, "w" + random.nextInt(500), description.toString()));
+        }
+        List<String> query = List.of("w0", "w1", "w250", "w400");
+
+        // When, a window larger than the number of hits never prunes
+        SearchHits exhaustive = skewed.search(query, 0, 5000);
+        SearchHits pruned = skewed.search(query, 0, 10);
+
+        // Then
+        assertThat(exhaustive.totalHitsExact()).isTrue();
+        assertThat(pruned.ids()).isEqualTo(exhaustive.ids().subList(0, 10));
+        assertThat(pruned.totalHits()).isLessThanOrEqualTo(exhaustive.totalHits());
+    }
+
+}
@@ -0,0 +1,138 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy lookup latency of the trigram name index as the catalog grows. Names are three pronounceable words
+ * built from 1,232 syllables, drawn from a 50,000 word vocabulary with a Zipf distribution. "oneTypo" and
+ * "twoTypos" look up a whole indexed name with one or two characters replaced. "twoWords" looks up its last two
+ * words with one typo; they are often short common words, so a large share of the catalog is within reach.
+ * Run it with:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath edu.tcu.cs.hogwarts_artifacts_online.artifact.search.TrigramIndexBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TrigramIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    private static final String[] SYLLABLES = syllables();
+
+    @Param({"10000", "100000", "1000000"})
+    private int artifacts;
+
+    private TrigramIndex index;
+
+    private String[] names;
+
+    private double[] cumulative;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        this.cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            sum += 1.0 / (rank + 1);
+            this.cumulative[rank] = sum;
+        }
+        Random random = new Random(42);
+        this.index = new TrigramIndex();
+        this.names = new String[this.artifacts];
+        for (int id = 0; id < this.artifacts; id++) {
+            this.names[id] = word(rank(random)) + " " + word(rank(random)) + " " + word(rank(random));
+            this.index.add(TrigramIndex.analyze(id, this.names[id]));
+        }
+    }
+
+    @Benchmark
+    public SearchHits oneTypo() {
+        return this.index.search(typos(randomName(), 1), 0, 20);
+    }
+
+    @Benchmark
+    public SearchHits twoTypos() {
+        return this.index.search(typos(randomName(), 2), 0, 20);
+    }
+
+    @Benchmark
+    public SearchHits twoWords() {
+        String name = randomName();
+        return this.index.search(typos(name.substring(name.indexOf(' ') + 1), 1), 0, 20);
+    }
+
+    private String randomName() {
+        return this.names[ThreadLocalRandom.current().nextInt(this.artifacts)];
+    }
+
+    private static String typos(String text, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] query = text.toCharArray();
+        for (int i = 0; i < count; i++) {
+            query[random.nextInt(query.length)] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(query);
+    }
+
+    private int rank(Random random) {
+        double target = random.nextDouble() * this.cumulative[VOCABULARY - 1];
+        int rank = Arrays.binarySearch(this.cumulative, target);
+        return rank < 0 ? -rank - 1 : rank;
+    }
+
+    // A distinct word per rank: the rank's digits in base SYLLABLES.length, one syllable each
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append(SYLLABLES[rank % SYLLABLES.length]);
+            rank /= SYLLABLES.length;
+        } while (rank > 0);
+        return word.toString();
+    }
+
+    private static String[] syllables() {
+        String[] onsets = {"", "b", "c", "d", "f", "g", "h", "k", "l", "m", "n", "p", "r", "s", "t", "v", "w", "br", "gr", "pl", "st", "tr"};
+        String[] vowels = {"a", "e", "i", "o", "u", "ai", "ou"};
+        String[] codas = {"", "l", "m", "n", "r", "s", "nd", "rt"};
+        String[] syllables = new String[onsets.length * vowels.length * codas.length];
+        int i = 0;
+        for (String onset : onsets) {
+            for (String vowel : vowels) {
+                for (String coda : codas) {
+                    syllables[i++] = onset + vowel + coda;
+                }
+            }
+        }
+        return syllables;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TrigramIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
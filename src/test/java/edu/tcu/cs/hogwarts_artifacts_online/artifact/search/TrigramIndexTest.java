@@ -0,0 +1,171 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new TrigramIndex();
+        this.index.add(TrigramIndex.analyze(1L, "Deluminator"));
+        this.index.add(TrigramIndex.analyze(2L, "Invisibility Cloak"));
+        this.index.add(TrigramIndex.analyze(3L, "Elder Wand"));
+        this.index.add(TrigramIndex.analyze(4L, "The Marauder's Map"));
+        this.index.add(TrigramIndex.analyze(5L, "The Sword Of Gryffindor"));
+        this.index.add(TrigramIndex.analyze(6L, "Resurrection Stone"));
+    }
+
+    @Test
+    void testSearchToleratesMisspelling() {
+        // When
+        SearchHits hits = this.index.search("Deluminater", 0, 10);
+
+        // Then
+        assertThat(hits.ids()).containsExactly(1L);
+        assertThat(hits.totalHits()).isEqualTo(1);
+    }
+
+    @Test
+    void testSearchMatchesPartOfName() {
+        // When
+        SearchHits hits = this.index.search("Marauders Map", 0, 10);
+
+        // Then
+        assertThat(hits.ids()).containsExactly(4L);
+    }
+
+    @Test
+    void testSearchRanksFewerEditsFirst() {
+        // Given
+        this.index.add(TrigramIndex.analyze(7L, "Elder Wind"));
+
+        // When
+        SearchHits hits = this.index.search("elder wand", 0, 10);
+
+        // Then
+        assertThat(hits.ids()).containsExactly(3L, 7L);
+    }
+
+    @Test
+    void testSearchRejectsTooManyEdits() {
+        // When, two edits are allowed for six characters or more
+        SearchHits hits = this.index.search("Swerd Og Griffindor", 0, 10);
+        SearchHits within = this.index.search("Sword Og Gryfindor", 0, 10);
+
+        // Then
+        assertThat(hits.ids()).isEmpty();
+        assertThat(within.ids()).containsExactly(5L);
+    }
+
+    @Test
+    void testRemoveAndUpdate() {
+        // When
+        this.index.remove(1L);
+        this.index.add(TrigramIndex.analyze(3L, "Elder Staff"));
+
+        // Then
+        assertThat(this.index.search("deluminator", 0, 10).ids()).isEmpty();
+        assertThat(this.index.search("elder wand", 0, 10).ids()).isEmpty();
+        assertThat(this.index.search("elder staf", 0, 10).ids()).containsExactly(3L);
+        assertThat(this.index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void testPatternDistanceMatchesDynamicProgram() {
+        // Given
+        Random random = new Random(11);
+        for (int i = 0; i < 2000; i++) {
+            String query = letters(random, 1 + random.nextInt(70));
+            String name = letters(random, random.nextInt(40));
+
+            // When
+            int distance = new TrigramIndex.Pattern(query).distance(name);
+
+            // Then
+            assertThat(distance).as("%s in %s", query, name).isEqualTo(expectedDistance(query, name));
+        }
+        assertThat(new TrigramIndex.Pattern("wand").distance("elder wand")).isEqualTo(0);
+        assertThat(new TrigramIndex.Pattern("wnd").distance("elder wand")).isEqualTo(1);
+    }
+
+    @Test
+    void testSearchFindsMisspelledNamesUnderChurn() {
+        // Given
+        Random random = new Random(7);
+        TrigramIndex index = new TrigramIndex();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            names.add(word(random) + " " + word(random));
+            index.add(TrigramIndex.analyze(i, names.get(i)));
+        }
+        for (int i = 0; i < 20_000; i += 2) {
+            index.remove(i); // Enough to compact and renumber
+        }
+
+        // When, Then
+        for (int i = 0; i < 500; i++) {
+            int id = 1 + 2 * random.nextInt(10_000);
+            String query = typo(names.get(id), random);
+            SearchHits hits = index.search(query, 0, 10_000);
+            assertThat(hits.ids()).contains((long) id).allMatch(hit -> hit % 2 == 1);
+        }
+    }
+
+    private static String letters(Random random, int length) {
+        StringBuilder letters = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            letters.append("abcé ".charAt(random.nextInt(5)));
+        }
+        return letters.toString();
+    }
+
+    // The distance from the query to its closest substring of the name, by trying every substring
+    private static int expectedDistance(String query, String name) {
+        int best = query.length();
+        for (int start = 0; start <= name.length(); start++) {
+            for (int end = start; end <= name.length(); end++) {
+                best = Math.min(best, levenshtein(query, name.substring(start, end)));
+            }
+        }
+        return best;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] distances = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                distances[i][j] = i == 0 ? j : j == 0 ? i : Math.min(Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1),
+                        distances[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+            }
+        }
+        return distances[a.length()][b.length()];
+    }
+
+    private static String word(Random random) {
+        String[] syllables = {"ba", "lo", "mi", "ra", "du", "ke", "ne", "sho", "tri", "va"};
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = 2 + random.nextInt(3); i < length; i++) {
+            word.append(syllables[random.nextInt(syllables.length)]);
+        }
+        return word.toString();
+    }
+
+    // One substitution inside a word, always within the edits allowed for the length of these names
+    private static String typo(String name, Random random) {
+        int position;
+        do {
+            position = random.nextInt(name.length());
+        } while (name.charAt(position) == ' ');
+        return name.substring(0, position) + 'x' + name.substring(position + 1);
+    }
+
+}
@@ -0,0 +1,115 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lock-free IdWorker with the previous synchronized implementation at 1, 8 and 64 threads.
+ * Run it with:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.IdWorkerBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdWorkerBenchmark {
+
+    private static final int BLOCK_SIZE = 100;
+
+    private final IdWorker lockFreeWorker = new IdWorker(1, 1);
+
+    private final SynchronizedIdWorker synchronizedWorker = new SynchronizedIdWorker(1, 1);
+
+    @Benchmark
+    public long lockFreeNextId() {
+        return this.lockFreeWorker.nextId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK_SIZE)
+    public long[] lockFreeNextIds() {
+        return this.lockFreeWorker.nextIds(BLOCK_SIZE);
+    }
+
+    @Benchmark
+    public long synchronizedNextId() {
+        return this.synchronizedWorker.nextId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 8, 64}) {
+            new Runner(new OptionsBuilder()
+                    .include(IdWorkerBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+
+    /**
+     * The previous implementation, kept here as the baseline: a synchronized nextId() with a static lastTimestamp.
+     */
+    static class SynchronizedIdWorker {
+
+        private final static long twepoch = 1288834974657L;
+
+        private final static long sequenceBits = 12L;
+
+        private final static long workerIdShift = sequenceBits;
+
+        private final static long datacenterIdShift = sequenceBits + 5L;
+
+        private final static long timestampLeftShift = sequenceBits + 10L;
+
+        private final static long sequenceMask = -1L ^ (-1L << sequenceBits);
+
+        private static long lastTimestamp = -1L;
+
+        private long sequence = 0L;
+
+        private final long workerId;
+
+        private final long datacenterId;
+
+        SynchronizedIdWorker(long workerId, long datacenterId) {
+            this.workerId = workerId;
+            this.datacenterId = datacenterId;
+        }
+
+        synchronized long nextId() {
+            long timestamp = System.currentTimeMillis();
+            if (timestamp < lastTimestamp) {
+                throw new RuntimeException("Clock moved backwards.");
+            }
+            if (lastTimestamp == timestamp) {
+                sequence = (sequence + 1) & sequenceMask;
+                if (sequence == 0) {
+                    while (timestamp <= lastTimestamp) {
+                        timestamp = System.currentTimeMillis();
+                    }
+                }
+            } else {
+                sequence = 0L;
+            }
+            lastTimestamp = timestamp;
+            return ((timestamp - twepoch) << timestampLeftShift)
+                    | (datacenterId << datacenterIdShift)
+                    | (workerId << workerIdShift) | sequence;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdWorkerTest {
+
+    @Test
+    void testNextIdIsIncreasing() {
+        // Given
+        IdWorker idWorker = new IdWorker(1, 1);
+
+        // When
+        long previous = idWorker.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = idWorker.nextId();
+
+            // Then
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testNextIdIsUniqueAcrossThreads() throws Exception {
+        // Given
+        IdWorker idWorker = new IdWorker(1, 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(idWorker.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(ids).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void testWorkersInSameJvmDoNotShareState() {
+        // Given
+        IdWorker worker1 = new IdWorker(1, 1);
+        IdWorker worker2 = new IdWorker(2, 1);
+
+        // When
+        long id1 = worker1.nextId();
+        long id2 = worker2.nextId();
+
+        // Then
+        assertThat(id1 & 0xFFF).isZero();
+        assertThat(id2 & 0xFFF).isZero();
+        assertThat(id1).isNotEqualTo(id2);
+    }
+
+    @Test
+    void testNextIdsReservesDistinctIncreasingIds() {
+        // Given
+        IdWorker idWorker = new IdWorker(1, 1);
+        long before = idWorker.nextId();
+
+        // When
+        long[] ids = idWorker.nextIds(10_000); // More than one millisecond worth of sequences
+
+        // Then
+        assertThat(ids).hasSize(10_000);
+        assertThat(ids[0]).isGreaterThan(before);
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+        }
+        assertThat(idWorker.nextId()).isGreaterThan(ids[ids.length - 1]);
+    }
+
+    @Test
+    void testConstructorRejectsOutOfRangeIds() {
+        assertThrows(IllegalArgumentException.class, () -> new IdWorker(32, 1));
+        assertThrows(IllegalArgumentException.class, () -> new IdWorker(1, -1));
+    }
+}
@@ -0,0 +1,74 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.tcu.cs.hogwarts_artifacts_online.system.StatusCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${api.endpoint.base-url}")
+    String baseUrl;
+
+    @Test
+    void testTokenFromLoginAuthenticatesLaterRequests() throws Exception {
+        // Given
+        String response = this.mockMvc.perform(post(this.baseUrl + "/users/login").header(HttpHeaders.AUTHORIZATION, basic("john", "123456")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode data = this.objectMapper.readTree(response).get("data");
+        String token = data.get("token").asText();
+
+        // When and then
+        this.mockMvc.perform(get(this.baseUrl + "/wizards").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS));
+        this.mockMvc.perform(get(this.baseUrl + "/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()); // john is an admin, the roles come from the token
+    }
+
+    @Test
+    void testInvalidBearerTokenIsUnauthorized() throws Exception {
+        // When and then
+        this.mockMvc.perform(get(this.baseUrl + "/wizards").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.flag").value(false));
+    }
+
+    @Test
+    void testLoginWithWrongPasswordIsUnauthorized() throws Exception {
+        // When and then
+        this.mockMvc.perform(post(this.baseUrl + "/users/login").header(HttpHeaders.AUTHORIZATION, basic("john", "wrong")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.flag").value(false));
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,116 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.HogwartsUser;
+import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.MyUserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    UserDetailsService userDetailsService;
+
+    AuthenticationCache authenticationCache;
+
+    CachingAuthenticationProvider cachingAuthenticationProvider;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 10, Duration.ofSeconds(10));
+        HogwartsUser user = new HogwartsUser();
+        user.setId(1);
+        user.setUsername("john");
+        user.setPassword(passwordEncoder.encode("123456"));
+        user.setEnabled(true);
+        user.setRoles("admin user");
+        given(this.userDetailsService.loadUserByUsername("john")).willReturn(new MyUserPrincipal(user));
+
+        this.authenticationCache = new AuthenticationCache(Duration.ofMinutes(5), 100);
+        this.cachingAuthenticationProvider = new CachingAuthenticationProvider(this.userDetailsService, passwordEncoder, this.authenticationCache);
+    }
+
+    @Test
+    void testSecondLoginIsServedFromCache() {
+        // When
+        Authentication first = this.cachingAuthenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "123456"));
+        Authentication second = this.cachingAuthenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "123456"));
+
+        // Then
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("john");
+        assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+        assertThat(second.getCredentials()).isNull();
+        verify(this.userDetailsService, times(1)).loadUserByUsername("john");
+    }
+
+    @Test
+    void testWrongPasswordIsNotCached() {
+        // Given
+        this.cachingAuthenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "123456"));
+
+        // When, Then
+        assertThatThrownBy(() -> this.cachingAuthenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> this.cachingAuthenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(this.userDetailsService, times(3)).loadUserByUsername("john");
+    }
+
+    @Test
+    void testInvalidateAllForcesReload() {
+        // Given
+        this.cachingAuthenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "123456"));
+
+        // When
+        this.authenticationCache.invalidateAll();
+        this.cachingAuthenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "123456"));
+
+        // Then
+        verify(this.userDetailsService, times(2)).loadUserByUsername("john");
+    }
+
+    @Test
+    void testSlowPasswordHashFailsAfterMaxWait() {
+        // Given, a hash that takes far longer than the caller is willing to wait
+        BCryptPasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        try (BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(slowEncoder, 1, 10, Duration.ofMillis(100))) {
+            CachingAuthenticationProvider provider = new CachingAuthenticationProvider(this.userDetailsService, passwordEncoder, this.authenticationCache);
+            long started = System.nanoTime();
+
+            // When, Then
+            assertThatThrownBy(() -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "123456")))
+                    .isInstanceOf(AuthenticationServiceException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    @Mock
+    JwtDecoder delegate;
+
+    CachingJwtDecoder cachingJwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        this.cachingJwtDecoder = new CachingJwtDecoder(this.delegate, 100);
+    }
+
+    @Test
+    void testRepeatedTokenIsVerifiedOnce() {
+        // Given
+        Jwt jwt = jwt("token-1", Instant.now().plus(2, ChronoUnit.HOURS));
+        given(this.delegate.decode("token-1")).willReturn(jwt);
+
+        // When
+        Jwt first = this.cachingJwtDecoder.decode("token-1");
+        Jwt second = this.cachingJwtDecoder.decode("token-1");
+
+        // Then
+        assertThat(first).isSameAs(jwt);
+        assertThat(second).isSameAs(jwt);
+        verify(this.delegate, times(1)).decode("token-1");
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        // Given
+        given(this.delegate.decode("forged")).willThrow(new BadJwtException("Invalid signature"));
+
+        // When, Then
+        assertThatThrownBy(() -> this.cachingJwtDecoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> this.cachingJwtDecoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        verify(this.delegate, times(2)).decode("forged");
+    }
+
+    @Test
+    void testTokenPastExpIsVerifiedAgain() {
+        // Given, a token the delegate still accepts within its clock skew
+        given(this.delegate.decode("token-2")).willReturn(jwt("token-2", Instant.now().minusSeconds(10)));
+
+        // When
+        this.cachingJwtDecoder.decode("token-2");
+        this.cachingJwtDecoder.decode("token-2");
+
+        // Then
+        verify(this.delegate, times(2)).decode("token-2");
+    }
+
+    @Test
+    void testGrantedAuthoritiesAreConvertedOncePerJwt() {
+        // Given
+        Jwt jwt = jwt("token-3", Instant.now().plus(2, ChronoUnit.HOURS));
+        int[] conversions = new int[1];
+        CachingGrantedAuthoritiesConverter converter = new CachingGrantedAuthoritiesConverter(source -> {
+            conversions[0]++;
+            return List.of(() -> "ROLE_admin");
+        }, 100);
+
+        // When
+        Collection<GrantedAuthority> first = converter.convert(jwt);
+        Collection<GrantedAuthority> second = converter.convert(jwt);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(conversions[0]).isEqualTo(1);
+    }
+
+    private static Jwt jwt(String tokenValue, Instant expiresAt) {
+        return Jwt.withTokenValue(tokenValue)
+                .header("alg", "RS256")
+                .subject("john")
+                .issuedAt(expiresAt.minus(2, ChronoUnit.HOURS))
+                .expiresAt(expiresAt)
+                .claim("authorities", "ROLE_admin ROLE_user")
+                .build();
+    }
+
+}
@@ -0,0 +1,90 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of JwtProvider.createToken (login) and of an uncached decode (first request with a token) for
+ * each SigningAlgorithm, to pick security.jwt.algorithm from data.
+ * Run it with:
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     "-Dexec.args=-cp %classpath edu.tcu.cs.hogwarts_artifacts_online.security.JwtAlgorithmBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA", "HS256"})
+    private SigningAlgorithm algorithm;
+
+    private Path keyStore;
+
+    private Authentication authentication;
+
+    private JwtProvider jwtProvider;
+
+    private JwtDecoder jwtDecoder;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void createKeys() throws Exception {
+        this.keyStore = Files.createTempFile("jwks", ".json");
+        Files.delete(this.keyStore); // SigningKeys creates it
+        SigningKeys signingKeys = new SigningKeys(this.keyStore, 1, this.algorithm);
+        this.authentication = UsernamePasswordAuthenticationToken.authenticated("john", null, AuthorityUtils.createAuthorityList("ROLE_admin", "ROLE_user"));
+        this.jwtProvider = new JwtProvider(new SigningKeyJwtEncoder(signingKeys));
+        this.jwtDecoder = new NimbusJwtDecoder(new SigningKeyJwtProcessor(signingKeys));
+        this.token = this.jwtProvider.createToken(this.authentication);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteKeys() throws Exception {
+        Files.deleteIfExists(this.keyStore);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return this.jwtProvider.createToken(this.authentication);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return this.jwtDecoder.decode(this.token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAlgorithmBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
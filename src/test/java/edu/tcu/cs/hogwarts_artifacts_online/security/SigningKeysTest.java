@@ -0,0 +1,266 @@
+package edu.tcu.cs.hogwarts_artifacts_online.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeysTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testKeyStoreIsCreatedOnceAndReloaded() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        SigningKeys first = new SigningKeys(keyStore, 3, SigningAlgorithm.RS256);
+
+        // When
+        SigningKeys restarted = new SigningKeys(keyStore, 3, SigningAlgorithm.RS256);
+
+        // Then
+        assertThat(Files.exists(keyStore)).isTrue();
+        assertThat(restarted.current().getKeyID()).isNotBlank().isEqualTo(first.current().getKeyID());
+        assertThat(restarted.publicKeys().getKeys()).allMatch(jwk -> !jwk.isPrivate());
+    }
+
+    @Test
+    void testTokenSignedByOneInstanceVerifiesOnAnother() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        SigningKeys issuer = new SigningKeys(keyStore, 3, SigningAlgorithm.RS256);
+        SigningKeys verifier = new SigningKeys(keyStore, 3, SigningAlgorithm.RS256);
+
+        // When
+        String token = createToken(issuer);
+        Jwt jwt = decoder(verifier).decode(token);
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("john");
+        assertThat(jwt.getHeaders().get("kid")).isEqualTo(issuer.current().getKeyID());
+    }
+
+    @Test
+    void testInstanceThatLoadedTheKeyStoreSigns() throws Exception {
+        // Given, the second instance reads its keys back from the file instead of generating them
+        Path keyStore = this.directory.resolve("jwks.json");
+        SigningKeys first = new SigningKeys(keyStore, 3, SigningAlgorithm.ES256);
+        SigningKeys restarted = new SigningKeys(keyStore, 3, SigningAlgorithm.ES256);
+
+        // When
+        String token = createToken(restarted);
+        Jwt jwt = decoder(first).decode(token);
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("john");
+        assertThat(jwt.getHeaders().get("alg").toString()).isEqualTo("ES256");
+    }
+
+    @Test
+    void testRotationOnOneInstanceIsPickedUpByAnother() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        SigningKeys issuer = new SigningKeys(keyStore, 3, SigningAlgorithm.RS256);
+        JwtDecoder verifier = decoder(new SigningKeys(keyStore, 3, SigningAlgorithm.RS256));
+        String beforeRotation = createToken(issuer);
+
+        // When
+        issuer.rotate();
+        String afterRotation = createToken(issuer);
+
+        // Then
+        assertThat(verifier.decode(afterRotation).getSubject()).isEqualTo("john");
+        assertThat(verifier.decode(beforeRotation).getSubject()).isEqualTo("john");
+    }
+
+    @Test
+    void testRotationOnOneInstanceIsSignedWithByAnother() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        SigningKeys node1 = new SigningKeys(keyStore, 3, SigningAlgorithm.RS256);
+        SigningKeys node2 = new SigningKeys(keyStore, 3, SigningAlgorithm.RS256);
+
+        // When
+        JWK rotated = node1.rotate();
+
+        // Then, node2 signs with the new key without having seen a token signed by it
+        assertThat(node2.current().getKeyID()).isEqualTo(rotated.getKeyID());
+        assertThat(decoder(node1).decode(createToken(node2)).getHeaders().get("kid")).isEqualTo(rotated.getKeyID());
+    }
+
+    @Test
+    void testConcurrentRotationsOnTwoInstancesKeepEveryKey() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        SigningKeys node1 = new SigningKeys(keyStore, 20, SigningAlgorithm.HS256);
+        SigningKeys node2 = new SigningKeys(keyStore, 20, SigningAlgorithm.HS256);
+        Set<String> rotatedKids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            List<Future<?>> rotations = new ArrayList<>();
+            for (SigningKeys node : List.of(node1, node2)) {
+                rotations.add(executor.submit(() -> {
+                    for (int i = 0; i < 5; i++) {
+                        rotatedKids.add(node.rotate().getKeyID());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> rotation : rotations) {
+                rotation.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then, neither instance wrote over a key the other had just added
+        SigningKeys restarted = new SigningKeys(keyStore, 20, SigningAlgorithm.HS256);
+        assertThat(rotatedKids).hasSize(10);
+        assertThat(restarted.current().getKeyID()).isIn(rotatedKids);
+        for (String kid : rotatedKids) {
+            assertThat(restarted.find(kid)).isNotNull();
+            assertThat(node1.find(kid)).isNotNull();
+            assertThat(node2.find(kid)).isNotNull();
+        }
+    }
+
+    @Test
+    void testInstancesStartingTogetherShareOneKey() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<SigningKeys> nodes = new ArrayList<>();
+        try {
+            List<Future<SigningKeys>> starts = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                starts.add(executor.submit(() -> new SigningKeys(keyStore, 3, SigningAlgorithm.HS256)));
+            }
+            for (Future<SigningKeys> start : starts) {
+                nodes.add(start.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then, only the first one generated a key, the others loaded it
+        assertThat(nodes).extracting(node -> node.current().getKeyID()).containsOnly(nodes.get(0).current().getKeyID());
+        assertThat(new SigningKeys(keyStore, 3, SigningAlgorithm.HS256).current().getKeyID()).isEqualTo(nodes.get(0).current().getKeyID());
+    }
+
+    @Test
+    void testRotationDropsKeysBeyondMaxKeys() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        SigningKeys signingKeys = new SigningKeys(keyStore, 2, SigningAlgorithm.RS256);
+        String oldest = createToken(signingKeys);
+
+        // When
+        signingKeys.rotate();
+        signingKeys.rotate();
+
+        // Then
+        assertThat(signingKeys.publicKeys().getKeys()).hasSize(2);
+        assertThatThrownBy(() -> decoder(signingKeys).decode(oldest)).isInstanceOf(BadJwtException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SigningAlgorithm.class)
+    void testEveryAlgorithmSignsAndVerifies(SigningAlgorithm algorithm) throws Exception {
+        // Given
+        SigningKeys signingKeys = new SigningKeys(this.directory.resolve("jwks.json"), 3, algorithm);
+
+        // When
+        Jwt jwt = decoder(signingKeys).decode(createToken(signingKeys));
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("john");
+        assertThat(jwt.getHeaders().get("alg")).isEqualTo(algorithm.getName());
+    }
+
+    @Test
+    void testChangingAlgorithmAddsKeyAndKeepsOldTokensValid() throws Exception {
+        // Given
+        Path keyStore = this.directory.resolve("jwks.json");
+        String rsaToken = createToken(new SigningKeys(keyStore, 3, SigningAlgorithm.RS256));
+
+        // When
+        SigningKeys restarted = new SigningKeys(keyStore, 3, SigningAlgorithm.ES256);
+
+        // Then
+        assertThat(restarted.currentAlgorithm()).isEqualTo(SigningAlgorithm.ES256);
+        assertThat(restarted.publicKeys().getKeys()).hasSize(2);
+        assertThat(decoder(restarted).decode(rsaToken).getSubject()).isEqualTo("john");
+        assertThat(decoder(restarted).decode(createToken(restarted)).getHeaders().get("alg")).isEqualTo("ES256");
+    }
+
+    @Test
+    void testHmacKeysAreNotPublished() throws Exception {
+        // Given
+        SigningKeys signingKeys = new SigningKeys(this.directory.resolve("jwks.json"), 3, SigningAlgorithm.HS256);
+
+        // When, Then
+        assertThat(signingKeys.publicKeys().getKeys()).isEmpty();
+    }
+
+    @Test
+    void testTokenWithAlgorithmOtherThanKeysIsRejected() throws Exception {
+        // Given, an HS256 token claiming to be signed with the RSA key
+        SigningKeys signingKeys = new SigningKeys(this.directory.resolve("jwks.json"), 3, SigningAlgorithm.RS256);
+        SignedJWT forged = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(signingKeys.current().getKeyID()).build(),
+                new JWTClaimsSet.Builder().subject("john").expirationTime(new Date(System.currentTimeMillis() + 60_000)).build());
+        forged.sign(new MACSigner(new byte[32]));
+
+        // When, Then
+        assertThatThrownBy(() -> decoder(signingKeys).decode(forged.serialize())).isInstanceOf(BadJwtException.class);
+    }
+
+    private static String createToken(SigningKeys signingKeys) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(2, ChronoUnit.HOURS))
+                .subject("john")
+                .build();
+        return new SigningKeyJwtEncoder(signingKeys).encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    private static JwtDecoder decoder(SigningKeys signingKeys) {
+        return new NimbusJwtDecoder(new SigningKeyJwtProcessor(signingKeys));
+    }
+
+}
@@ -0,0 +1,131 @@
+package edu.tcu.cs.hogwarts_artifacts_online.suggest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTest {
+
+    CompletionTrie trie;
+
+    Suggestion elderWand = new Suggestion("1", "Elder Wand", 8);
+
+    Suggestion elderFutharkRunes = new Suggestion("2", "Elder Futhark Runes", 2);
+
+    Suggestion deluminator = new Suggestion("3", "Deluminator", 4);
+
+    @BeforeEach
+    void setUp() {
+        this.trie = new CompletionTrie();
+        add(this.elderWand);
+        add(this.elderFutharkRunes);
+        add(this.deluminator);
+    }
+
+    @Test
+    void testCompleteRanksByWeight() {
+        // When
+        List<Suggestion> suggestions = this.trie.complete("el", 10);
+
+        // Then
+        assertThat(suggestions).containsExactly(this.elderWand, this.elderFutharkRunes);
+    }
+
+    @Test
+    void testCompleteMatchesAnyWord() {
+        // When
+        List<Suggestion> suggestions = this.trie.complete("wa", 10);
+
+        // Then
+        assertThat(suggestions).containsExactly(this.elderWand);
+    }
+
+    @Test
+    void testCompleteListsEachSuggestionOnce() {
+        // When, every name is stored under several keys
+        List<Suggestion> suggestions = this.trie.complete("", 10);
+
+        // Then
+        assertThat(suggestions).containsExactly(this.elderWand, this.deluminator, this.elderFutharkRunes);
+    }
+
+    @Test
+    void testCompleteReturnsNothingForUnknownPrefix() {
+        // When
+        List<Suggestion> inside = this.trie.complete("eldest", 10);
+        List<Suggestion> after = this.trie.complete("elder wands", 10);
+
+        // Then
+        assertThat(inside).isEmpty();
+        assertThat(after).isEmpty();
+    }
+
+    @Test
+    void testRemoveDropsSuggestion() {
+        // When
+        boolean removed = this.trie.remove("elder wand", this.elderWand);
+        boolean removedAgain = this.trie.remove("elder wand", this.elderWand);
+
+        // Then
+        assertThat(removed).isTrue();
+        assertThat(removedAgain).isFalse();
+        assertThat(this.trie.complete("elder", 10)).containsExactly(this.elderFutharkRunes);
+        assertThat(this.trie.complete("wand", 10)).containsExactly(this.elderWand); // Still stored under "wand"
+    }
+
+    @Test
+    void testCompleteMatchesExhaustiveRankingUnderChurn() {
+        // Given
+        Random random = new Random(42);
+        CompletionTrie trie = new CompletionTrie();
+        Map<String, List<Suggestion>> stored = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            if (!keys.isEmpty() && random.nextInt(3) == 0) {
+                String key = keys.remove(random.nextInt(keys.size()));
+                List<Suggestion> suggestions = stored.get(key);
+                Suggestion suggestion = suggestions.remove(suggestions.size() - 1);
+                assertThat(trie.remove(key, suggestion)).isTrue();
+            } else {
+                String key = randomKey(random);
+                Suggestion suggestion = new Suggestion(String.valueOf(i), key, random.nextInt(20));
+                trie.add(key, suggestion);
+                stored.computeIfAbsent(key, k -> new ArrayList<>()).add(suggestion);
+                keys.add(key);
+            }
+        }
+
+        // When, Then
+        for (int i = 0; i < 500; i++) {
+            String prefix = randomKey(random).substring(0, random.nextInt(3));
+            List<Suggestion> expected = stored.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .flatMap(entry -> entry.getValue().stream())
+                    .sorted(CompletionTrie.RANKING)
+                    .limit(CompletionTrie.MAX_COMPLETIONS)
+                    .toList();
+            assertThat(trie.complete(prefix, CompletionTrie.MAX_COMPLETIONS)).isEqualTo(expected);
+        }
+    }
+
+    private void add(Suggestion suggestion) {
+        SuggestionIndex.keys(suggestion.name()).forEach(key -> this.trie.add(key, suggestion));
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 2 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+}
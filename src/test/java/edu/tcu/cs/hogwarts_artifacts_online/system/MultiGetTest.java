@@ -0,0 +1,66 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system;
+
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class MultiGetTest {
+
+    // Rows exist for even keys only, and come back in reverse order like an unordered IN query might
+    private final List<List<Integer>> queries = new ArrayList<>();
+
+    private List<Integer> findEven(List<Integer> keys) {
+        this.queries.add(List.copyOf(keys));
+        List<Integer> rows = keys.stream().filter(key -> key % 2 == 0).collect(Collectors.toList());
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    @Test
+    void testFetchKeepsRequestOrderAndReportsMissingIds() {
+        // When
+        MultiGet<Integer> found = MultiGet.fetch(List.of("8", "3", "x", "2", "8", "4"), MultiGet::parseInteger, this::findEven, row -> row);
+
+        // Then
+        assertThat(found.content()).containsExactly(8, 2, 4);
+        assertThat(found.missingIds()).containsExactly("3", "x");
+        assertThat(this.queries).containsExactly(List.of(8, 3, 2, 4));
+    }
+
+    @Test
+    void testFetchQueriesInChunks() {
+        // Given
+        List<String> ids = IntStream.range(0, MultiGet.CHUNK_SIZE * 2 + 1).mapToObj(String::valueOf).toList();
+
+        // When
+        MultiGet<Integer> found = MultiGet.fetch(ids, MultiGet::parseInteger, this::findEven, row -> row);
+
+        // Then
+        assertThat(this.queries).extracting(List::size).containsExactly(MultiGet.CHUNK_SIZE, MultiGet.CHUNK_SIZE, 1);
+        assertThat(found.content()).hasSize(MultiGet.CHUNK_SIZE + 1).isSorted();
+        assertThat(found.missingIds()).hasSize(MultiGet.CHUNK_SIZE);
+    }
+
+    @Test
+    void testFetchWithTooManyIds() {
+        // Given
+        List<String> ids = IntStream.rangeClosed(0, MultiGet.MAX_IDS).mapToObj(String::valueOf).toList();
+
+        // When
+        Throwable thrown = catchThrowable(() -> MultiGet.fetch(ids, MultiGet::parseInteger, this::findEven, row -> row));
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidArgumentException.class)
+                .hasMessage("at most 1000 ids can be requested at once.");
+        assertThat(this.queries).isEmpty();
+    }
+
+}
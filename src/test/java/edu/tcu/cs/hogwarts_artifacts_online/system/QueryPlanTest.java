@@ -0,0 +1,100 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactFilter;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSort;
+import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the SQL that Hibernate generates for each lookup through H2's EXPLAIN, so a filter that silently
+ * falls back to a table scan fails here rather than in production.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "edu.tcu.cs.hogwarts_artifacts_online.system.QueryPlanTest$RecordingStatementInspector")
+class QueryPlanTest {
+
+    @Autowired
+    ArtifactRepository artifactRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testOwnerFilterUsesOwnerIndex() {
+        // When
+        String plan = plan(() -> this.artifactRepository.findSummaries(new ArtifactFilter(1, false, null, ArtifactSort.ID), null, 1L, Limit.of(10)));
+
+        // Then
+        assertThat(plan).contains("/* PUBLIC.IDX_ARTIFACT_OWNER_ID: OWNER_ID = ?1");
+    }
+
+    @Test
+    void testUnownedFilterUsesOwnerIndex() {
+        // When
+        String plan = plan(() -> this.artifactRepository.findSummaries(new ArtifactFilter(null, true, null, ArtifactSort.ID), null, null, Limit.of(10)));
+
+        // Then, H2 may pick the foreign key's own owner_id index over (owner_id, id), both seek to the nulls
+        assertThat(plan).containsPattern("/\\* PUBLIC\\.\\w+: OWNER_ID IS NULL \\*/").doesNotContain("tableScan");
+    }
+
+    @Test
+    void testNamePrefixUsesNameIndex() {
+        // When
+        String plan = plan(() -> this.artifactRepository.findSummaries(new ArtifactFilter(null, false, "Del", ArtifactSort.NAME), null, null, Limit.of(10)));
+
+        // Then
+        assertThat(plan).contains("/* PUBLIC.IDX_ARTIFACT_NAME: NAME >= ?1").contains("/* index sorted */");
+    }
+
+    @Test
+    void testOwnerAndNamePrefixUseOwnerNameIndex() {
+        // When
+        String plan = plan(() -> this.artifactRepository.findSummaries(new ArtifactFilter(2, false, "Inv", ArtifactSort.NAME), "Invisibility Cloak", 1L, Limit.of(10)));
+
+        // Then
+        assertThat(plan).contains("/* PUBLIC.IDX_ARTIFACT_OWNER_NAME: ").contains("AND OWNER_ID = ?1");
+    }
+
+    @Test
+    void testFindByUsernameUsesUniqueIndex() {
+        // When
+        String plan = plan(() -> this.userRepository.findByUsername("john"));
+
+        // Then, H2 names the index behind the unique constraint after it
+        assertThat(plan).containsPattern("/\\* PUBLIC\\.IDX_HOGWARTS_USER_USERNAME\\w*: USERNAME = \\?1 \\*/");
+    }
+
+    private String plan(Runnable lookup) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        lookup.run();
+        List<String> statements = RecordingStatementInspector.STATEMENTS;
+        assertThat(statements).hasSize(1);
+        return this.jdbcTemplate.queryForObject("explain " + statements.get(0), String.class);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+}
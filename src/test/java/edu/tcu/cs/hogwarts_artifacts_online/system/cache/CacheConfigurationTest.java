@@ -0,0 +1,169 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactService;
+import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.HogwartsUser;
+import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.MyUserPrincipal;
+import edu.tcu.cs.hogwarts_artifacts_online.hogwartsuser.UserService;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.Wizard;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext
+class CacheConfigurationTest {
+
+    @Autowired
+    ArtifactService artifactService;
+
+    @Autowired
+    WizardService wizardService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        this.cacheManager.getCacheNames().forEach(name -> this.cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void testFindArtifactByIdIsServedFromCache() {
+        // Given
+        long hitsBefore = nativeCache(CacheConfiguration.ARTIFACTS).stats().hitCount();
+        Artifact first = this.artifactService.findById("1250808601744904191");
+
+        // When
+        Artifact second = this.artifactService.findById("1250808601744904191");
+
+        // Then
+        assertThat(second.getName()).isEqualTo(first.getName());
+        assertThat(second.getOwner().getNumberOfArtifacts()).isEqualTo(2);
+        assertThat(nativeCache(CacheConfiguration.ARTIFACTS).stats().hitCount()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void testSpellingsOfOneArtifactIdShareOneEntry() {
+        // Given
+        long hitsBefore = nativeCache(CacheConfiguration.ARTIFACTS).stats().hitCount();
+        this.artifactService.findById("1250808601744904193");
+        this.artifactService.findById("+1250808601744904193");
+        Artifact cached = this.artifactService.findById("01250808601744904193");
+        Artifact update = new Artifact();
+        update.setName("Elder Wand - updated");
+        update.setDescription(cached.getDescription());
+        update.setImageUrl(cached.getImageUrl());
+
+        // When
+        this.artifactService.update("+1250808601744904193", update);
+
+        // Then
+        assertThat(nativeCache(CacheConfiguration.ARTIFACTS).stats().hitCount()).isEqualTo(hitsBefore + 2);
+        assertThat(this.artifactService.findById("1250808601744904193").getName()).isEqualTo("Elder Wand - updated");
+        update.setName(cached.getName());
+        this.artifactService.update("1250808601744904193", update);
+    }
+
+    @Test
+    void testRenamingOwnerKeepsCachedArtifact() {
+        // Given
+        this.artifactService.findById("1250808601744904191");
+        long hitsBefore = nativeCache(CacheConfiguration.ARTIFACTS).stats().hitCount();
+        Wizard rename = new Wizard();
+        rename.setName("Albus Percival Wulfric Brian Dumbledore");
+
+        // When
+        this.wizardService.update(1, rename);
+
+        // Then
+        try {
+            assertThat(this.artifactService.findById("1250808601744904191").getOwner().getName()).isEqualTo("Albus Percival Wulfric Brian Dumbledore");
+            assertThat(nativeCache(CacheConfiguration.ARTIFACTS).stats().hitCount()).isEqualTo(hitsBefore + 1);
+        } finally {
+            rename.setName("Albus Dumbledore");
+            this.wizardService.update(1, rename);
+        }
+    }
+
+    @Test
+    void testUpdateArtifactEvictsCachedArtifact() {
+        // Given
+        Artifact cached = this.artifactService.findById("1250808601744904192");
+        Artifact update = new Artifact();
+        update.setName("Invisibility Cloak - updated");
+        update.setDescription(cached.getDescription());
+        update.setImageUrl(cached.getImageUrl());
+
+        // When
+        this.artifactService.update("1250808601744904192", update);
+
+        // Then
+        assertThat(this.artifactService.findById("1250808601744904192").getName()).isEqualTo("Invisibility Cloak - updated");
+    }
+
+    @Test
+    void testAssignArtifactToWizardEvictsBothCaches() {
+        // Given
+        this.artifactService.findById("1250808601744904195");
+        this.wizardService.findById(1);
+        this.wizardService.findById(3);
+
+        // When
+        this.wizardService.assignArtifactToWizard(1, "1250808601744904195");
+
+        // Then
+        Artifact artifact = this.artifactService.findById("1250808601744904195");
+        Wizard newOwner = this.wizardService.findById(1);
+        assertThat(artifact.getOwner().getId()).isEqualTo(1);
+        assertThat(newOwner.getNumberOfArtifacts()).isEqualTo(artifact.getOwner().getNumberOfArtifacts());
+        assertThat(this.wizardService.findById(3).getNumberOfArtifacts()).isEqualTo(0);
+    }
+
+    @Test
+    void testLoadUserByUsernameIsServedFromCache() {
+        // Given
+        UserDetails first = this.userService.loadUserByUsername("eric");
+
+        // When
+        UserDetails second = this.userService.loadUserByUsername("eric");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_user");
+        assertThat(nativeCache(CacheConfiguration.USERS).stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateUserEvictsCachedUserDetails() {
+        // Given
+        MyUserPrincipal cached = (MyUserPrincipal) this.userService.loadUserByUsername("tom");
+        HogwartsUser update = new HogwartsUser();
+        update.setUsername("tom");
+        update.setEnabled(true);
+        update.setRoles("user moderator");
+
+        // When
+        this.userService.update(cached.getHogwartsUser().getId(), update);
+
+        // Then
+        assertThat(this.userService.loadUserByUsername("tom").getAuthorities()).extracting("authority")
+                .containsExactly("ROLE_user", "ROLE_moderator");
+    }
+
+    private Cache<?, ?> nativeCache(String name) {
+        return (Cache<?, ?>) this.cacheManager.getCache(name).getNativeCache();
+    }
+
+}
@@ -0,0 +1,87 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.id;
+
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.Wizard;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardRepository;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hogwarts.id.allocation-size=100",
+        "spring.jpa.properties.hibernate.session.events.auto=edu.tcu.cs.hogwarts_artifacts_online.system.id.PooledSequenceGeneratorTest$RoundTripCounter"
+})
+@Transactional
+class PooledSequenceGeneratorTest {
+
+    private static final int WIZARDS = 10_000;
+
+    private static final int BATCH_SIZE = 50;
+
+    private static final int ALLOCATION_SIZE = 100;
+
+    @Autowired
+    WizardRepository wizardRepository;
+
+    @BeforeEach
+    void setUp() {
+        RoundTripCounter.reset();
+    }
+
+    @Test
+    void testWizardInsertsAreBatched() {
+        // Given
+        List<Wizard> wizards = new ArrayList<>(WIZARDS);
+        for (int i = 0; i < WIZARDS; i++) {
+            Wizard wizard = new Wizard();
+            wizard.setName("Wizard " + i);
+            wizards.add(wizard);
+        }
+
+        // When
+        this.wizardRepository.saveAll(wizards);
+        this.wizardRepository.flush();
+
+        // Then
+        assertThat(RoundTripCounter.BATCHES.get()).isEqualTo(WIZARDS / BATCH_SIZE);
+        // One sequence call per block of ids, plus at most one for the block the initializer already started
+        assertThat(RoundTripCounter.STATEMENTS.get()).isBetween(WIZARDS / ALLOCATION_SIZE, WIZARDS / ALLOCATION_SIZE + 1);
+        assertThat(wizards).extracting(Wizard::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    /**
+     * Counts JDBC round trips: executed batches and single statements (here only sequence calls).
+     */
+    public static class RoundTripCounter implements SessionEventListener {
+
+        static final AtomicInteger BATCHES = new AtomicInteger();
+
+        static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+        static void reset() {
+            BATCHES.set(0);
+            STATEMENTS.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            BATCHES.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            STATEMENTS.incrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+package edu.tcu.cs.hogwarts_artifacts_online.system.lease;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.utilis.IdWorker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(WorkerIdLeaseService.class) // Needed by the application's IdWorker bean
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The service commits its own transactions
+class WorkerIdLeaseServiceTest {
+
+    @Autowired
+    WorkerIdLeaseRepository workerIdLeaseRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        this.workerIdLeaseRepository.deleteAll();
+    }
+
+    @Test
+    void testInstancesClaimDistinctSlots() {
+        // Given
+        WorkerIdLeaseService node1 = newNode();
+        WorkerIdLeaseService node2 = newNode();
+
+        // When
+        int slot1 = node1.claim();
+        int slot2 = node2.claim();
+
+        // Then
+        assertThat(slot1).isNotEqualTo(slot2);
+        assertThat(node1.claim()).isEqualTo(slot1); // Claiming again keeps the same slot
+        assertThat(this.workerIdLeaseRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testSlotToWorkerAndDatacenterIds() {
+        // Given
+        for (int i = 0; i < 33; i++) {
+            newNode().claim();
+        }
+        WorkerIdLeaseService node = newNode();
+
+        // When
+        int slot = node.claim();
+
+        // Then
+        assertThat(slot).isEqualTo(33);
+        assertThat(node.getDatacenterId()).isEqualTo(1);
+        assertThat(node.getWorkerId()).isEqualTo(1);
+    }
+
+    @Test
+    void testReleasedSlotCanBeClaimedAgain() {
+        // Given
+        WorkerIdLeaseService node1 = newNode();
+        int slot = node1.claim();
+
+        // When
+        node1.release();
+
+        // Then
+        assertThat(newNode().claim()).isEqualTo(slot);
+    }
+
+    @Test
+    void testExpiredSlotIsTakenOver() {
+        // Given
+        WorkerIdLeaseService crashedNode = newNode();
+        int slot = crashedNode.claim();
+        WorkerIdLease lease = this.workerIdLeaseRepository.findById(slot).get();
+        lease.setExpiresAt(Instant.now().minusSeconds(1));
+        this.workerIdLeaseRepository.save(lease);
+
+        // When
+        WorkerIdLeaseService node = newNode();
+
+        // Then
+        assertThat(node.claim()).isEqualTo(slot);
+    }
+
+    @Test
+    void testTakeOverWaitsUntilClockPassesPreviousHolder() {
+        // Given, a crashed holder whose clock ran a minute ahead of ours
+        WorkerIdLeaseService crashedNode = newNode();
+        int slot = crashedNode.claim();
+        long previousTimestamp = System.currentTimeMillis() + 60_000;
+        WorkerIdLease lease = this.workerIdLeaseRepository.findById(slot).get();
+        lease.setExpiresAt(Instant.now().minusSeconds(1));
+        lease.setLastTimestamp(previousTimestamp);
+        this.workerIdLeaseRepository.save(lease);
+
+        // When
+        WorkerIdLeaseService node = newNode();
+
+        // Then
+        assertThat(node.claim()).isEqualTo(slot);
+        assertThatThrownBy(node.getIdWorker()::nextId).isInstanceOf(RuntimeException.class).hasMessageStartingWith("Clock moved backwards");
+        assertThat(this.workerIdLeaseRepository.findById(slot).get().getLastTimestamp()).isGreaterThanOrEqualTo(previousTimestamp);
+    }
+
+    @Test
+    void testReleaseRecordsLastIdTimestamp() {
+        // Given
+        WorkerIdLeaseService node = newNode();
+        int slot = node.claim();
+        node.getIdWorker().nextIds(100);
+        long lastTimestamp = node.getIdWorker().lastTimestamp();
+
+        // When
+        node.release();
+
+        // Then
+        WorkerIdLease lease = this.workerIdLeaseRepository.findById(slot).get();
+        assertThat(lease.getLastTimestamp()).isGreaterThanOrEqualTo(lastTimestamp);
+        assertThat(lease.getExpiresAt()).isBeforeOrEqualTo(Instant.now());
+    }
+
+    @Test
+    void testRenewRecordsUpperBoundOfIdTimestamps() {
+        // Given
+        WorkerIdLeaseService node = newNode();
+        int slot = node.claim();
+        long before = System.currentTimeMillis();
+
+        // When
+        node.renew();
+
+        // Then, the ids until the next renewal cannot go past it
+        assertThat(this.workerIdLeaseRepository.findById(slot).get().getLastTimestamp()).isGreaterThanOrEqualTo(before + 30_000);
+    }
+
+    @Test
+    void testRenewExtendsLease() {
+        // Given
+        WorkerIdLeaseService node = newNode();
+        int slot = node.claim();
+        Instant expiresAt = this.workerIdLeaseRepository.findById(slot).get().getExpiresAt();
+
+        // When
+        node.renew();
+
+        // Then
+        assertThat(this.workerIdLeaseRepository.findById(slot).get().getExpiresAt()).isAfterOrEqualTo(expiresAt);
+    }
+
+    @Test
+    void testLostSlotIsNoLongerUsedForIds() {
+        // Given
+        WorkerIdLeaseService node = newNode();
+        IdWorker idWorker = node.getIdWorker();
+        int slot = node.claim();
+        assertThat(slotOf(idWorker.nextId())).isEqualTo(slot);
+
+        // When, another instance ends up holding the slot
+        WorkerIdLease lease = this.workerIdLeaseRepository.findById(slot).get();
+        lease.setInstanceId("another-instance");
+        this.workerIdLeaseRepository.save(lease);
+        node.renew();
+
+        // Then
+        int newSlot = node.claim();
+        assertThat(newSlot).isNotEqualTo(slot);
+        assertThat(this.workerIdLeaseRepository.findById(newSlot).get().getInstanceId()).isNotEqualTo("another-instance");
+        assertThat(slotOf(idWorker.nextId())).isEqualTo(newSlot);
+        assertThat(Arrays.stream(idWorker.nextIds(100)).mapToObj(WorkerIdLeaseServiceTest::slotOf)).containsOnly(newSlot);
+    }
+
+    @Test
+    void testIdsAreRefusedOnceTheLeaseRunsOutWithoutRenewal() throws Exception {
+        // Given
+        WorkerIdLeaseService node = new WorkerIdLeaseService(this.workerIdLeaseRepository, this.transactionManager, Duration.ofSeconds(1));
+        IdWorker idWorker = node.getIdWorker();
+        idWorker.nextId();
+
+        // When
+        Thread.sleep(1100);
+
+        // Then
+        assertThatThrownBy(idWorker::nextId).isInstanceOf(IllegalStateException.class);
+        node.renew();
+        assertThat(slotOf(idWorker.nextId())).isEqualTo(node.claim());
+    }
+
+    @Test
+    void testIdsAreRefusedAfterRelease() {
+        // Given
+        WorkerIdLeaseService node = newNode();
+        IdWorker idWorker = node.getIdWorker();
+
+        // When
+        node.release();
+
+        // Then
+        assertThatThrownBy(idWorker::nextId).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> idWorker.nextIds(10)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private WorkerIdLeaseService newNode() {
+        return new WorkerIdLeaseService(this.workerIdLeaseRepository, this.transactionManager, Duration.ofSeconds(30));
+    }
+
+    // The datacenter and worker bits of an id, which is the slot they were leased as
+    private static int slotOf(long id) {
+        return (int) ((id >>> 12) & 0x3FF);
+    }
+}
@@ -0,0 +1,133 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard;
+
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ArtifactCountReconcilerTest {
+
+    @Autowired
+    ArtifactCountReconciler artifactCountReconciler;
+
+    @Autowired
+    WizardService wizardService;
+
+    @Autowired
+    ArtifactService artifactService;
+
+    @Autowired
+    WizardRepository wizardRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void testReconcileFixesDriftedCounts() {
+        // Given
+        this.jdbcTemplate.update("update wizard set artifact_count = 99 where id = 1");
+
+        // When
+        int reconciled = this.artifactCountReconciler.reconcile();
+
+        // Then
+        assertThat(reconciled).isEqualTo(1);
+        assertThat(this.wizardRepository.findArtifactCount(1)).isEqualTo(2);
+    }
+
+    @Test
+    void testReconcileWithoutDrift() {
+        // When
+        int reconciled = this.artifactCountReconciler.reconcile();
+
+        // Then
+        assertThat(reconciled).isEqualTo(0);
+    }
+
+    @Test
+    void testWritePathsKeepCountsInSync() {
+        // When
+        this.wizardService.assignArtifactToWizard(2, "1250808601744904196");
+        this.wizardService.assignArtifactsToWizard(3, List.of("1250808601744904191", "1250808601744904192"));
+        this.wizardService.transferArtifacts(2, 1);
+        this.artifactService.delete("1250808601744904193");
+
+        // Then
+        assertThat(this.artifactCountReconciler.reconcile()).isEqualTo(0);
+        assertThat(this.wizardRepository.findArtifactCount(1)).isEqualTo(2);
+        assertThat(this.wizardRepository.findArtifactCount(2)).isEqualTo(0);
+        assertThat(this.wizardRepository.findArtifactCount(3)).isEqualTo(3);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Two transactions must really run side by side
+    void testConcurrentAssignmentsOfOneArtifactKeepCountsInSync() throws Exception {
+        // Given, the first assignment holds its transaction open while the second one starts
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        CountDownLatch firstAssigned = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                this.wizardService.assignArtifactToWizard(2, "1250808601744904196");
+                firstAssigned.countDown();
+                await(secondStarted);
+                sleep(500); // Lets the second assignment reach the locked row
+            }));
+            await(firstAssigned);
+
+            // When
+            Future<?> second = executor.submit(() -> {
+                secondStarted.countDown();
+                this.wizardService.assignArtifactToWizard(3, "1250808601744904196");
+            });
+            first.get(30, TimeUnit.SECONDS);
+            second.get(30, TimeUnit.SECONDS);
+
+            // Then, the second assignment took the artifact from wizard 2, not from its original owner
+            assertThat(this.wizardRepository.findIdsWithArtifactCountDrift()).isEmpty();
+            assertThat(this.wizardRepository.findArtifactCount(2)).isEqualTo(2);
+            assertThat(this.wizardRepository.findArtifactCount(3)).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+            this.jdbcTemplate.update("update artifact set owner_id = null where id = 1250808601744904196");
+            this.artifactCountReconciler.reconcile();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
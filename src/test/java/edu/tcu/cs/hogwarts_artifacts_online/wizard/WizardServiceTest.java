@@ -1,8 +1,14 @@
 package edu.tcu.cs.hogwarts_artifacts_online.wizard;
 
-import edu.tcu.cs.hogwarts_artifacts_online.artifact.Artifact;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactCache;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactOwnerCount;
 import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSort;
+import edu.tcu.cs.hogwarts_artifacts_online.artifact.ArtifactSummary;
+import edu.tcu.cs.hogwarts_artifacts_online.system.CursorPage;
+import edu.tcu.cs.hogwarts_artifacts_online.system.exception.InvalidArgumentException;
 import edu.tcu.cs.hogwarts_artifacts_online.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard.WizardLeaderboard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +16,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -30,6 +38,12 @@ public class WizardServiceTest {
     @Mock
     ArtifactRepository artifactRepository;
 
+    @Mock
+    WizardLeaderboard wizardLeaderboard;
+
+    @Mock
+    ArtifactCache artifactCache;
+
     @InjectMocks
     WizardService wizardService;
 
@@ -103,6 +117,67 @@ public class WizardServiceTest {
         verify(wizardRepository, times(1)).findAll();
     }
 
+    @Test
+    void testFindArtifactsFirstPageSuccess(){
+        // Given
+        List<ArtifactSummary> window = List.of(
+                new ArtifactSummary(1250808601744904191L, "Deluminator", "Description", "ImageUrl", 1, "Albus Dumbledore", 3),
+                new ArtifactSummary(1250808601744904193L, "Elder Wand", "Description", "ImageUrl", 1, "Albus Dumbledore", 3),
+                new ArtifactSummary(1250808601744904195L, "Invisibility Cloak", "Description", "ImageUrl", 1, "Albus Dumbledore", 3));
+        given(artifactRepository.findSummariesByOwner(1, Limit.of(3))).willReturn(window);
+
+        // When
+        CursorPage<ArtifactSummary> page = wizardService.findArtifacts(1, ArtifactSort.ID, null, 2);
+
+        // Then
+        assertThat(page.content()).hasSize(2);
+        assertThat(CursorPage.decode(page.nextCursor())).isEqualTo("1250808601744904193");
+        verify(wizardRepository, never()).findById(1);
+    }
+
+    @Test
+    void testFindArtifactsByNameNextPageSuccess(){
+        // Given
+        List<ArtifactSummary> window = List.of(
+                new ArtifactSummary(1250808601744904195L, "Invisibility Cloak", "Description", "ImageUrl", 1, "Albus Dumbledore", 3));
+        given(artifactRepository.findSummariesByOwnerAfterName(1, "Elder Wand", 1250808601744904193L, Limit.of(3))).willReturn(window);
+
+        // When
+        CursorPage<ArtifactSummary> page = wizardService.findArtifacts(1, ArtifactSort.NAME, CursorPage.encode("Elder Wand\u00001250808601744904193"), 2);
+
+        // Then
+        assertThat(page.content()).extracting(ArtifactSummary::name).containsExactly("Invisibility Cloak");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void testFindArtifactsOfNonExistentWizard(){
+        // Given
+        given(artifactRepository.findSummariesByOwner(5, Limit.of(101))).willReturn(List.of());
+        given(wizardRepository.existsById(5)).willReturn(false);
+
+        // When
+        Throwable thrown = catchThrowable(()->{
+            wizardService.findArtifacts(5, ArtifactSort.ID, null, 100);
+        });
+
+        // Then
+        assertThat(thrown).isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find wizard with Id 5 :(");
+    }
+
+    @Test
+    void testFindArtifactsWithMalformedNameCursor(){
+        // When
+        Throwable thrown = catchThrowable(()->{
+            wizardService.findArtifacts(1, ArtifactSort.NAME, CursorPage.encode("Elder Wand"), 100);
+        });
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidArgumentException.class);
+        verifyNoInteractions(artifactRepository);
+    }
+
     @Test
     void testSaveSuccess(){
         // Given
@@ -125,16 +200,16 @@ public class WizardServiceTest {
     @Test
     void testUpdateSuccess(){
         // Given
-        Wizard oldWizard = new Wizard();
-        oldWizard.setId(5);
-        oldWizard.setName("Harry Potter");
-
         Wizard update = new Wizard();
         update.setId(5);
         update.setName("Harry new");
 
-        given(wizardRepository.findById(5)).willReturn(Optional.of(oldWizard));
-        given(wizardRepository.save(oldWizard)).willReturn(oldWizard);
+        Wizard updatedRow = new Wizard();
+        updatedRow.setId(5);
+        updatedRow.setName("Harry new");
+
+        given(wizardRepository.updateName(5, "Harry new")).willReturn(1);
+        given(wizardRepository.findById(5)).willReturn(Optional.of(updatedRow));
 
         //When
         Wizard updatedWizard = wizardService.update(5, update);
@@ -143,8 +218,8 @@ public class WizardServiceTest {
         assertThat(updatedWizard.getId()).isEqualTo(update.getId());
         assertThat(updatedWizard.getName()).isEqualTo(update.getName());
         assertThat(updatedWizard.getNumberOfArtifacts()).isEqualTo(update.getNumberOfArtifacts());
-        verify(wizardRepository, times(1)).findById(5);
-        verify(wizardRepository, times(1)).save(oldWizard);
+        verify(wizardRepository, times(1)).updateName(5, "Harry new");
+        verify(wizardRepository, never()).save(any(Wizard.class));
     }
 
     @Test
@@ -154,54 +229,36 @@ public class WizardServiceTest {
         update.setId(5);
         update.setName("Harry new");
 
-        given(wizardRepository.findById(5)).willReturn(Optional.empty());
+        given(wizardRepository.updateName(5, "Harry new")).willReturn(0);
         //When
         assertThrows(ObjectNotFoundException.class, ()->{
             wizardService.update(5, update);
         });
 
         //Then
-        verify(wizardRepository, times(1)).findById(5);
+        verify(wizardRepository, times(1)).updateName(5, "Harry new");
+        verify(wizardRepository, never()).findById(5);
     }
 
     @Test
     void testDeleteSuccess(){
         // Given
-        Wizard wizard = new Wizard();
-        wizard.setId(5);
-        wizard.setName("Harry Potter");
-
-        Artifact artifact1 = new Artifact();
-        artifact1.setId("a1");
-        artifact1.setName("Wand");
-        artifact1.setOwner(wizard);
-
-        Artifact artifact2 = new Artifact();
-        artifact2.setId("a2");
-        artifact2.setName("Cloak");
-        artifact2.setOwner(wizard);
-
-        List<Artifact> artifacts = List.of(artifact1, artifact2);
-        wizard.setArtifacts(artifacts);
-
-        given(wizardRepository.findById(5)).willReturn(Optional.of(wizard));
-        //doNothing().when(wizardRepository).deleteById(5);
+        given(artifactRepository.clearOwner(5)).willReturn(2);
+        given(wizardRepository.deleteWizardById(5)).willReturn(1);
 
         // When
         wizardService.delete(5);
 
         // Then
-        assertNull(artifact1.getOwner());
-        assertNull(artifact2.getOwner());
-
-        //verify(artifactRepository).saveAll(artifacts);
-        verify(wizardRepository, times(1)).deleteById(5);
+        verify(artifactRepository, times(1)).clearOwner(5);
+        verify(wizardRepository, times(1)).deleteWizardById(5);
+        verify(wizardRepository, never()).findById(5);
     }
 
     @Test
     void testDeleteNotFound(){
         // Given
-        given(wizardRepository.findById(5)).willReturn(Optional.empty());
+        given(wizardRepository.deleteWizardById(5)).willReturn(0);
 
         // When
         assertThrows(ObjectNotFoundException.class, ()->{
@@ -209,69 +266,49 @@ public class WizardServiceTest {
         });
 
         // Then
-        verify(wizardRepository, times(1)).findById(5);
+        verify(wizardRepository, times(1)).deleteWizardById(5);
     }
 
     @Test
     void testAssignArtifactToWizardSuccess() {
         // Given
-        Wizard oldOwner = new Wizard();
-        oldOwner.setId(1);
-        oldOwner.setName("Albus Dumbledore");
-
         Wizard newOwner = new Wizard();
         newOwner.setId(2);
         newOwner.setName("Severus Snape");
 
-        Artifact artifact = new Artifact();
-        artifact.setId("a1");
-        artifact.setName("Elder Wand");
-        artifact.setDescription("Description");
-        artifact.setImageUrl("ImageUrl");
-
-        oldOwner.addArtifact(artifact);
-
         // Mock repository behaviors
-        given(wizardRepository.findById(2)).willReturn(Optional.of(newOwner));
-        given(artifactRepository.findById("a1")).willReturn(Optional.of(artifact));
+        given(artifactRepository.lockExistingIds(Set.of(1250808601744904191L))).willReturn(List.of(1250808601744904191L));
+        given(artifactRepository.findOwnerId(1250808601744904191L)).willReturn(Optional.of(1));
+        given(wizardRepository.existsById(2)).willReturn(true);
+        given(wizardRepository.getReferenceById(2)).willReturn(newOwner);
 
         // When
-        wizardService.assignArtifactToWizard(2, "a1");
+        wizardService.assignArtifactToWizard(2, "1250808601744904191");
 
         // Then
-        assertEquals(2, artifact.getOwner().getId()); // nuovo owner assegnato
-        assertTrue(newOwner.getArtifacts().contains(artifact)); // artefatto presente nel nuovo wizard
-        assertFalse(oldOwner.getArtifacts().contains(artifact)); // artefatto rimosso dal vecchio wizard
+        verify(artifactRepository, times(1)).assignOwner(Set.of(1250808601744904191L), newOwner); // nuovo owner assegnato
+        verify(wizardRepository, times(1)).adjustArtifactCount(1, -1); // contatore del vecchio wizard decrementato
+        verify(wizardRepository, times(1)).adjustArtifactCount(2, 1); // contatore del nuovo wizard incrementato
     }
 
     @Test
     void testAssignArtifactToWizardErrorWithNonExistentWizardId() {
         // Given
-        Wizard w = new Wizard();
-        w.setId(1);
-        w.setName("Albus Dumbledore");
-
-        Artifact artifact = new Artifact();
-        artifact.setId("a1");
-        artifact.setName("Elder Wand");
-        artifact.setDescription("Description");
-        artifact.setImageUrl("ImageUrl");
-
-        w.addArtifact(artifact);
 
         // Mock repository behaviors
-        given(wizardRepository.findById(2)).willReturn(Optional.empty());
-        given(artifactRepository.findById("a1")).willReturn(Optional.of(artifact));
+        given(artifactRepository.lockExistingIds(Set.of(1250808601744904191L))).willReturn(List.of(1250808601744904191L));
+        given(wizardRepository.existsById(2)).willReturn(false);
 
         // When
         Throwable thrown = assertThrows(ObjectNotFoundException.class, ()->{
-            this.wizardService.assignArtifactToWizard(2,"a1");
+            this.wizardService.assignArtifactToWizard(2,"1250808601744904191");
         });
 
         // Then
         assertThat(thrown).isInstanceOf(ObjectNotFoundException.class)
                         .hasMessage("Could not find wizard with Id 2 :(");
-        assertEquals(1, artifact.getOwner().getId());
+        verify(artifactRepository, never()).assignOwner(any(), any());
+        verify(wizardRepository, never()).adjustArtifactCount(anyInt(), anyInt());
     }
 
     @Test
@@ -279,17 +316,118 @@ public class WizardServiceTest {
         // Given
 
         // Mock repository behaviors
-        given(artifactRepository.findById("a1")).willReturn(Optional.empty());
+        given(artifactRepository.lockExistingIds(Set.of(1250808601744904191L))).willReturn(List.of());
 
         // When
         Throwable thrown = assertThrows(ObjectNotFoundException.class, ()->{
-            this.wizardService.assignArtifactToWizard(2,"a1");
+            this.wizardService.assignArtifactToWizard(2,"1250808601744904191");
         });
 
         // Then
         assertThat(thrown).isInstanceOf(ObjectNotFoundException.class)
-                .hasMessage("Could not find artifact with Id a1 :(");
+                .hasMessage("Could not find artifact with Id 1250808601744904191 :(");
     }
 
 
+
+    @Test
+    void testAssignArtifactsToWizardSuccess() {
+        // Given
+        Wizard wizard = new Wizard();
+        wizard.setId(2);
+
+        given(wizardRepository.existsById(2)).willReturn(true);
+        given(wizardRepository.getReferenceById(2)).willReturn(wizard);
+        given(artifactRepository.lockExistingIds(Set.of(1250808601744904191L, 1250808601744904192L)))
+                .willReturn(List.of(1250808601744904191L, 1250808601744904192L));
+        given(artifactRepository.countByOwner(Set.of(1250808601744904191L, 1250808601744904192L)))
+                .willReturn(List.of(new ArtifactOwnerCount(1, 1L), new ArtifactOwnerCount(2, 1L)));
+        given(artifactRepository.assignOwner(Set.of(1250808601744904191L, 1250808601744904192L), wizard)).willReturn(2);
+        given(wizardRepository.findArtifactCount(2)).willReturn(4);
+
+        // When
+        ArtifactAssignmentResult result = wizardService.assignArtifactsToWizard(2, List.of("1250808601744904191", "1250808601744904192", "1250808601744904191"));
+
+        // Then
+        assertThat(result).isEqualTo(new ArtifactAssignmentResult(2, 2, 4));
+        verify(wizardRepository, times(1)).adjustArtifactCount(1, -1);
+        verify(wizardRepository, times(1)).adjustArtifactCount(2, -1);
+        verify(wizardRepository, times(1)).adjustArtifactCount(2, 2);
+        verify(artifactRepository, never()).findById(any());
+    }
+
+    @Test
+    void testAssignArtifactsToWizardErrorWithNonExistentArtifactId() {
+        // Given
+        Wizard wizard = new Wizard();
+        wizard.setId(2);
+
+        given(wizardRepository.existsById(2)).willReturn(true);
+        given(artifactRepository.lockExistingIds(Set.of(1250808601744904191L, 1250808601744904199L))).willReturn(List.of(1250808601744904191L));
+
+        // When
+        Throwable thrown = catchThrowable(()->{
+            wizardService.assignArtifactsToWizard(2, List.of("1250808601744904191", "1250808601744904199"));
+        });
+
+        // Then
+        assertThat(thrown).isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find artifact with Id 1250808601744904199 :(");
+        verify(artifactRepository, never()).assignOwner(any(), any());
+        verify(wizardRepository, never()).adjustArtifactCount(anyInt(), anyInt());
+    }
+
+    @Test
+    void testAssignArtifactsToWizardErrorWithNonExistentWizardId() {
+        // Given
+        given(wizardRepository.existsById(5)).willReturn(false);
+
+        // When
+        Throwable thrown = catchThrowable(()->{
+            wizardService.assignArtifactsToWizard(5, List.of("1250808601744904191"));
+        });
+
+        // Then
+        assertThat(thrown).isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find wizard with Id 5 :(");
+        verifyNoInteractions(artifactRepository);
+    }
+
+    @Test
+    void testTransferArtifactsSuccess() {
+        // Given
+        Wizard heir = new Wizard();
+        heir.setId(2);
+
+        given(wizardRepository.existsById(1)).willReturn(true);
+        given(wizardRepository.existsById(2)).willReturn(true);
+        given(wizardRepository.getReferenceById(2)).willReturn(heir);
+        given(artifactRepository.transferOwner(1, heir)).willReturn(3);
+        given(wizardRepository.findArtifactCount(1)).willReturn(0);
+        given(wizardRepository.findArtifactCount(2)).willReturn(5);
+
+        // When
+        ArtifactTransferResult result = wizardService.transferArtifacts(1, 2);
+
+        // Then
+        assertThat(result).isEqualTo(new ArtifactTransferResult(1, 2, 3, 0, 5));
+        verify(wizardRepository, times(1)).adjustArtifactCount(1, -3);
+        verify(wizardRepository, times(1)).adjustArtifactCount(2, 3);
+        verify(wizardLeaderboard, times(1)).adjust(1, -3);
+        verify(wizardLeaderboard, times(1)).adjust(2, 3);
+    }
+
+    @Test
+    void testTransferArtifactsToSameWizard() {
+        // When
+        Throwable thrown = catchThrowable(()->{
+            wizardService.transferArtifacts(1, 1);
+        });
+
+        // Then
+        assertThat(thrown).isInstanceOf(InvalidArgumentException.class)
+                .hasMessage("artifacts cannot be transferred from a wizard to itself.");
+        verifyNoInteractions(artifactRepository);
+    }
+
 }
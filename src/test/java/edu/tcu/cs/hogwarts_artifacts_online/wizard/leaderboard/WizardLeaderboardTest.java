@@ -0,0 +1,95 @@
+package edu.tcu.cs.hogwarts_artifacts_online.wizard.leaderboard;
+
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.Wizard;
+import edu.tcu.cs.hogwarts_artifacts_online.wizard.WizardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class WizardLeaderboardTest {
+
+    @Mock
+    WizardRepository wizardRepository;
+
+    WizardLeaderboard wizardLeaderboard;
+
+    @BeforeEach
+    void setUp() {
+        this.wizardLeaderboard = new WizardLeaderboard(this.wizardRepository);
+        this.wizardLeaderboard.put(1, "Albus Dumbledore", 2);
+        this.wizardLeaderboard.put(2, "Harry Potter", 2);
+        this.wizardLeaderboard.put(3, "Neville Longbottom", 1);
+    }
+
+    @Test
+    void testTopOrdersByArtifactCountThenId() {
+        // When
+        List<LeaderboardEntry> top = this.wizardLeaderboard.top(2);
+
+        // Then
+        assertThat(top).containsExactly(
+                new LeaderboardEntry(1, "Albus Dumbledore", 2),
+                new LeaderboardEntry(2, "Harry Potter", 2));
+    }
+
+    @Test
+    void testAdjustMovesWizardUp() {
+        // When
+        this.wizardLeaderboard.adjust(3, 2);
+        this.wizardLeaderboard.adjust(1, -1);
+
+        // Then
+        assertThat(this.wizardLeaderboard.top(3)).extracting(LeaderboardEntry::wizardId).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    void testRemoveAndRename() {
+        // When
+        this.wizardLeaderboard.remove(1);
+        this.wizardLeaderboard.rename(2, "Harry James Potter");
+
+        // Then
+        assertThat(this.wizardLeaderboard.top(10)).containsExactly(
+                new LeaderboardEntry(2, "Harry James Potter", 2),
+                new LeaderboardEntry(3, "Neville Longbottom", 1));
+    }
+
+    @Test
+    void testListenersHearEveryChange() {
+        // Given
+        List<LeaderboardChange> changes = new ArrayList<>();
+        this.wizardLeaderboard.addListener(changes::add);
+
+        // When
+        this.wizardLeaderboard.adjust(3, 1);
+        this.wizardLeaderboard.remove(2);
+
+        // Then
+        assertThat(changes).containsExactly(
+                new LeaderboardChange(new LeaderboardEntry(3, "Neville Longbottom", 1), new LeaderboardEntry(3, "Neville Longbottom", 2)),
+                new LeaderboardChange(new LeaderboardEntry(2, "Harry Potter", 2), null));
+    }
+
+    @Test
+    void testReloadReplacesEntries() {
+        // Given
+        Wizard wizard = new Wizard();
+        wizard.setId(4);
+        wizard.setName("Severus Snape");
+
+        // When
+        this.wizardLeaderboard.reload(List.of(wizard));
+
+        // Then
+        assertThat(this.wizardLeaderboard.top(10)).containsExactly(new LeaderboardEntry(4, "Severus Snape", 0));
+    }
+
+}